@@ -15,18 +15,25 @@ import java.awt.Robot;
 import java.awt.AWTException;
 import java.awt.event.KeyEvent;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.text.SimpleDateFormat;
 import java.io.*;
+import java.nio.file.Path;
 
 public class BibleSearchMobileTests
 {
     private static String browserType; // Which browser type is being tested with
     private static String testUrl; // The base url to start a test from
     private static String langToUse; // Which langauge to perform the test with (currently only 'heb' or 'eng')
-    private static BSM_Manager bsmManager; // The class which manages everything related to Bible Search stuff
-    private static int testCount; // Which # test we are currently on
+    private static SessionPool<BSM_Manager> bsmManagers; // Managers (each with their own browser) shared between tests running in parallel
+    private static CommandMetrics metrics; // How long each command/lookup/wait took, by test
+    private BSM_Manager bsmManager; // The class which manages everything related to Bible Search stuff
+    private static AtomicInteger testCount; // How many tests have been started
+    private int testNum; // Which # test the current test is
+    private Path downloadedFile; // The file downloaded by the current test (null if nothing was downloaded)
     
     // Whether or not we are checking a downloaded file's extension, or that the data it contains is correct
     enum DownloadActionType {
@@ -53,11 +60,16 @@ public class BibleSearchMobileTests
         browserType = "chrome";
         langToUse = "heb";
         
-        // Setup the webdriver and load webelement data
-        bsmManager = new BSM_Manager();
-        bsmManager.Setup(browserType, langToUse);
+        // Setup the pool of webdrivers (each one loads webelement data when it is first needed)
+        metrics = new CommandMetrics();
+        bsmManagers = new SessionPool<BSM_Manager>(workerNum -> {
+            BSM_Manager manager = new BSM_Manager();
+            manager.Setup(browserType, langToUse, BrowserDriver.GetWorkerDownloadPath(workerNum));
+            manager.GetBrowser().SetMetrics(metrics);
+            return manager;
+        });
         
-        testCount = 0;
+        testCount = new AtomicInteger(0);
         System.out.println(String.format("Starting execution (%s)\n------------------", GetSystemDateTime()));
     }
     
@@ -71,36 +83,54 @@ public class BibleSearchMobileTests
         System.out.println("");
         
         // Prints total tests executed
-        String mainMessage = String.format("Ending execution (performed %d test[s])\n", testCount);
+        String mainMessage = String.format("Ending execution (performed %d test[s])\n", testCount.get());
         String toAdd = "";
         for (int i = 0; i < mainMessage.length() - 1; i++)
             toAdd += "-";
         mainMessage += toAdd + "\n\n";
         System.out.println(mainMessage);
         
-        // Close down the webdriver
-        bsmManager.GetBrowser().Quit();
+        // Write the timings of the suite's steps
+        metrics.WriteReport("BibleSearchMobileTests");
+        
+        // Close down the webdrivers
+        bsmManagers.CloseAll(manager -> manager.Quit());
     }
     
+    @Rule
+    public TestName testName = new TestName(); // Name of the test being run (for recording its timings)
+    
     @Before
-    public void DoBeforeATest() {
-        testCount++;
+    public void DoBeforeATest() throws InterruptedException {
+        testNum = testCount.incrementAndGet();
+        bsmManager = bsmManagers.Acquire(); // Each test gets a browser no other test is using at the moment
+        metrics.StartTest(testName.getMethodName());
     }
     
     @After
     public void DoSpace() {
         System.out.println(""); // To allow for readability, in the event the test fails
+        metrics.EndTest();
+        bsmManagers.Release(bsmManager);
     }
     
     // To avoid repeat code - enters search text and searches
     // (String) testIntro: the intro to the test printed in the console
     // (String) searchText: the text to search for in the searchbar
     public void JustSearch(String testIntro, String searchText) throws InterruptedException {
-        System.out.println(String.format("%s (test #%d)", testIntro, testCount));
+        System.out.println(String.format("%s (test #%d)", testIntro, testNum));
+        
+        // Reuse the results page of a previous test with the same search, if it is still around (or can be loaded straight from its url)
+        String fixture = FixtureCache.Key(searchText, langToUse, "sidebar closed");
+        if (bsmManager.GetBrowser().Fixtures().Restore(fixture, () -> bsmManager.WaitForResults())) {
+            System.out.println(String.format("Reusing the search results of a previous test ('%s')", searchText));
+            bsmManager.GetBrowser().UpdateCurrentPage();
+            return;
+        }
         
         // Switch to bible search page
         bsmManager.GetBrowser().GoTo(testUrl);
-        Thread.sleep(1000);
+        bsmManager.GetBrowser().Waits().WaitForDocumentReady();
         bsmManager.SwitchToLanguage(langToUse); // Make sure that the appropriate language page is being used
         
         // Enter text into the searchbar
@@ -110,8 +140,9 @@ public class BibleSearchMobileTests
         // Click search button
         System.out.println("Clicking search button");
         bsmManager.ClickInitialSearchButton();
-        Thread.sleep(3500); // Sleep as you get taken to a new page
+        bsmManager.WaitForResults(); // Wait as you get taken to a new page
         bsmManager.GetBrowser().UpdateCurrentPage();
+        bsmManager.GetBrowser().Fixtures().Store(fixture, testUrl);
     }
     
     // To avoid repeat code - enters search text, searches, and then opens the sidebar
@@ -123,9 +154,7 @@ public class BibleSearchMobileTests
         // Click sidebar button
         System.out.println("Clicking the sidebar button");
         bsmManager.ClickSidebarButton();
-        
-        if (browserType.equals("firefox"))
-            Thread.sleep(1000);
+        bsmManager.WaitForSidebar(); // Wait as the sidebar slides open
     }
     
     // To avoid repeat code - enters search text, searches, opens the sidebar, and downloads the search results to a file
@@ -149,8 +178,9 @@ public class BibleSearchMobileTests
         
         // Clicking the download button
         System.out.println("Clicking the download button");
+        CompletableFuture<Path> download = bsmManager.ExpectDownloadedFile(fileType); // Start watching before the download can start
         bsmManager.ClickDownloadButton();
-        Thread.sleep(3000); // Wait until file is downloaded
+        this.downloadedFile = bsmManager.WaitForDownloadedFile(fileType, download); // Wait until file is downloaded
     }
     
     // To avoid repeat code - clicks the back button of an open submenu, and applies the option(s) selected therein to the results
@@ -161,63 +191,45 @@ public class BibleSearchMobileTests
         
         // Apply sidebar options
         System.out.println("Applying sidebar options");
+        WebElement oldResults = bsmManager.GetShownResults();
         bsmManager.ApplySidebarOptions();
-        Thread.sleep((browserType.equals("firefox")) ? 1000 : 500); // Sleep to ensure new results are loaded
+        bsmManager.WaitForSidebarApplied(oldResults); // Wait to ensure new results are loaded
     }
     
+    // Takes the appropriate action on the file downloaded by SearchAndDownloadFile, and removes it
+    // (DownloadActionType) daType: whether to return the file's name, or the number of lines in it that match 'linesToCheckAgainst'
     public String BrowseDownloadsAndCheckFile(DownloadActionType daType, BSM_Manager.FileType fileType,
         List<String> linesToCheckAgainst) throws InvalidFormatException {
-        // Get extension to use when looking for the appropriate downloaded search results file
-        String filetypeToCompare = "";
-        switch(fileType) {
-            case HTML:
-                filetypeToCompare = ".html";
-                break;
-            case TXT:
-                filetypeToCompare = ".txt";
-                break;
-            case CSV:
-                filetypeToCompare = ".csv";
-                break;
-            case WORD:
-                filetypeToCompare = ".docx";
-                break;
-        }
+        if (this.downloadedFile == null)
+            return "0";
         
-        // Loop over the downloads folder, and take the appropriate action
+        // Take appropriate action
         String valueToReturn = "0";
-        File dir = new File(BrowserDriver.downloadPath);
-        File[] dirContents = dir.listFiles();
-        for (File fileInDownloads : dirContents) {
-            if (fileInDownloads.getName().contains(filetypeToCompare)) {
-                
-                // Take appropriate action
-                switch (daType) {
-                    case CHK_EXT:
-                        valueToReturn = fileInDownloads.getName();
-                        break;
-                    case CHK_FILE:
-                        valueToReturn = Integer.toString(bsmManager.VerifyDownloadedFileLines(fileType, 
-                            BrowserDriver.downloadPath + "\\" + fileInDownloads.getName(), linesToCheckAgainst));
-                        break;
-                }
-                
-                fileInDownloads.delete(); // Remove file when done
+        switch (daType) {
+            case CHK_EXT:
+                valueToReturn = this.downloadedFile.getFileName().toString();
+                break;
+            case CHK_FILE:
+                valueToReturn = Integer.toString(bsmManager.VerifyDownloadedFileLines(fileType, this.downloadedFile.toString(), linesToCheckAgainst));
                 break;
-            }
         }
         
+        this.downloadedFile.toFile().delete(); // Remove file when done
+        this.downloadedFile = null;
+        
         return valueToReturn;
     }
     
-    // Removes all files in the 'downloads' folder
+    // Removes all files in the 'downloads' folders (each worker has their own)
     public static void DeleteAllDownloadedFiles() {
-        File dir = new File(BrowserDriver.downloadPath); // Directory to 'downloads' folder
-        File[] dirContents = dir.listFiles(); // All files in 'downloads' folder
+        for (BSM_Manager manager : bsmManagers.GetAllSessions()) {
+            File dir = new File(manager.GetDownloadPath()); // Directory to the worker's 'downloads' folder
+            File[] dirContents = dir.listFiles(); // All files in the worker's 'downloads' folder
         
-        for (File fileInDownloads : dirContents) {
-            System.out.println("Deleting " + fileInDownloads.getName());
-            fileInDownloads.delete();
+            for (File fileInDownloads : dirContents) {
+                System.out.println("Deleting " + fileInDownloads.getName());
+                fileInDownloads.delete();
+            }
         }
     }
     
@@ -247,8 +259,9 @@ public class BibleSearchMobileTests
         
         // Clicking search button
         System.out.println("Clicking search button");
+        WebElement oldResults = bsmManager.GetShownResults();
         bsmManager.ClickSearchButton();
-        Thread.sleep(3000);
+        bsmManager.WaitForNewResults(oldResults); // Wait until the new results replace the previous ones
         
         // Retrieve results number
         System.out.println("Retrieving total results");
@@ -429,7 +442,6 @@ public class BibleSearchMobileTests
         // Relick all books
         System.out.println("Reselecting all books");
         bsmManager.DeReselectAllFilterBooks(false);
-        Thread.sleep(1000); // Sleep to wait for the books to be reselected
         
         // Click the back button, and apply the option(s) selected
         MoveBackAndApplyOptions();
@@ -559,7 +571,7 @@ public class BibleSearchMobileTests
         // Click meanings button
         System.out.println("Clicking the meanings button");
         bsmManager.ClickFilterByMeaningsButton();
-        Thread.sleep(1000);
+        bsmManager.WaitForMeaningsMenu(); // Wait as the submenu slides in
         
         // Click a meaing dropdown
         System.out.println("Clicking the meaning dropdown of the second word");
@@ -568,7 +580,6 @@ public class BibleSearchMobileTests
         // Deselect a single meaning (enabled by default)
         System.out.println("Deselecting the first meaning");
         bsmManager.ClickWordMeaningFromOpenDropdown(2); // 1 is 'select all'
-        Thread.sleep(1000);
         
         // Click the back button, and apply the option(s) selected
         MoveBackAndApplyOptions();
@@ -588,7 +599,7 @@ public class BibleSearchMobileTests
         // Click meanings button
         System.out.println("Clicking the meanings button");
         bsmManager.ClickFilterByMeaningsButton();
-        Thread.sleep(1000);
+        bsmManager.WaitForMeaningsMenu(); // Wait as the submenu slides in
         
         // Click a meaing dropdown
         System.out.println("Clicking the meaning dropdown of the second word");
@@ -597,7 +608,6 @@ public class BibleSearchMobileTests
         // Deselect all meanings for the word (enabled by default)
         System.out.println("Deselecting all meanings");
         bsmManager.ClickWordMeaningFromOpenDropdown(1); // 1 is 'select all'
-        Thread.sleep(1000);
         
         // Click the back button, and apply the option(s) selected
         MoveBackAndApplyOptions();
@@ -618,7 +628,7 @@ public class BibleSearchMobileTests
         // Click meanings button
         System.out.println("Clicking the meanings button");
         bsmManager.ClickFilterByMeaningsButton();
-        Thread.sleep(1000);
+        bsmManager.WaitForMeaningsMenu(); // Wait as the submenu slides in
         
         // Click a meaing dropdown
         System.out.println("Clicking the meaning dropdown of the second word");
@@ -627,7 +637,6 @@ public class BibleSearchMobileTests
         // Deselect all meanings for the word (enabled by default)
         System.out.println("Deselecting all meanings");
         bsmManager.ClickWordMeaningFromOpenDropdown(1); // 1 is 'select all'
-        Thread.sleep(1000);
         
         // Click the back button, and apply the option(s) selected
         MoveBackAndApplyOptions();
@@ -640,12 +649,11 @@ public class BibleSearchMobileTests
         // Click meanings button - again
         System.out.println("Clicking the meanings button - again");
         bsmManager.ClickFilterByMeaningsButton();
-        Thread.sleep(1000);
+        bsmManager.WaitForMeaningsMenu(); // Wait as the submenu slides in
         
         // Deselect all meanings for the word (enabled by default) - again
         System.out.println("Deselecting all meanings - again");
         bsmManager.ClickWordMeaningFromOpenDropdown(1); // 1 is 'select all'
-        Thread.sleep(1000);
         
         // Click the back button, and apply the option(s) selected
         MoveBackAndApplyOptions();
@@ -665,7 +673,7 @@ public class BibleSearchMobileTests
         // Click meanings button
         System.out.println("Clicking the meanings button");
         bsmManager.ClickFilterByMeaningsButton();
-        Thread.sleep(1000);
+        bsmManager.WaitForMeaningsMenu(); // Wait as the submenu slides in
         
         // Click a meaning dropdown
         System.out.println("Clicking the meaning dropdown of the second word");
@@ -698,7 +706,7 @@ public class BibleSearchMobileTests
         // Click meanings button
         System.out.println("Clicking the meanings button");
         bsmManager.ClickFilterByMeaningsButton();
-        Thread.sleep(1000);
+        bsmManager.WaitForMeaningsMenu(); // Wait as the submenu slides in
         
         // Click a meaning dropdown
         System.out.println("Clicking the meaning dropdown of the second word");
@@ -723,7 +731,7 @@ public class BibleSearchMobileTests
         // Click meanings button
         System.out.println("Clicking the meanings button");
         bsmManager.ClickFilterByMeaningsButton();
-        Thread.sleep(1000);
+        bsmManager.WaitForMeaningsMenu(); // Wait as the submenu slides in
         
         // Meaning dropdown is still open
         
@@ -1160,9 +1168,10 @@ public class BibleSearchMobileTests
         
         // Move to the 5th page of results
         System.out.println("Moving to the 5th page of results");
-        for (int i = 1; i < 5; i++)
+        for (int i = 1; i < 5; i++) {
             bsmManager.ClickNextPageResultsButton();
-            Thread.sleep(1000);
+            bsmManager.WaitForResultsPage(i + 1);
+        }
         
         // Retrieve the current results' page
         System.out.println("Retrieving the current results' page");
@@ -1178,15 +1187,17 @@ public class BibleSearchMobileTests
         
         // Move to the 5th page of results
         System.out.println("Moving to the 5th page of results");
-        for (int i = 1; i < 5; i++)
+        for (int i = 1; i < 5; i++) {
             bsmManager.ClickNextPageResultsButton();
-            Thread.sleep(1000);
+            bsmManager.WaitForResultsPage(i + 1);
+        }
         
         // Move back to the 2nd page of results
         System.out.println("Moving back to the 2nd page of results");
-        for (int i = 5; i > 2; i--)
+        for (int i = 5; i > 2; i--) {
             bsmManager.ClickPreviousPageResultsButton();
-            Thread.sleep(1000);
+            bsmManager.WaitForResultsPage(i - 1);
+        }
             
         // Retrieve the current results' page
         System.out.println("Retrieving the current results' page");
@@ -1303,8 +1314,9 @@ public class BibleSearchMobileTests
         
         // Clicking link to search page
         System.out.println("Clicking link to search page");
+        String previousUrl = bsmManager.GetBrowser().GetDriver().getCurrentUrl();
         bsmManager.ClickToSearchPageLink();
-        Thread.sleep(3000); // Sleep and wait until page is loaded
+        bsmManager.GetBrowser().Waits().WaitForUrlChange(previousUrl); // Wait until page is loaded
         bsmManager.GetBrowser().UpdateCurrentPage();
         
         String currentUrl = bsmManager.GetBrowser().GetFocusedPage().GetUrl();
@@ -1318,16 +1330,13 @@ public class BibleSearchMobileTests
         // Clicking source of first result
         System.out.println("Clicking source of first result");
         bsmManager.GetASourceOfResultFromCurrentPage(1).click();
-        Thread.sleep(1000);
+        bsmManager.WaitForSefariaLink();
         
-        // Needed to make the test work with firefox
-        if (browserType.equals("firefox"))
-            Thread.sleep(3000);
-            
         // Clicking the link to the sefaria page        
         System.out.println("Clicking the link to the appropriate sefaria page");
+        int pageCount = bsmManager.GetBrowser().GetDriver().getWindowHandles().size();
         bsmManager.ClickLinkToSefariaSource();
-        Thread.sleep((browserType.equals("firefox")) ? 15000 : 3000); // Needed to make the test work with firefox
+        bsmManager.GetBrowser().Waits().WaitForNewPage(pageCount); // Wait as a new tab is opened
         
         // Needed to make the test work with firefox
         if (browserType.equals("firefox")) {
@@ -1341,9 +1350,12 @@ public class BibleSearchMobileTests
                 else
                     break;
             }
-        } else if (browserType.equals("chrome"))
+        } else if (browserType.equals("chrome")) {
+            bsmManager.GetBrowser().WaitForPage("שמות ל״ד");
             bsmManager.GetBrowser().SwitchToPage("שמות ל״ד");
+        }
         
+        bsmManager.GetBrowser().Waits().WaitForNewPageLoaded();
         bsmManager.GetBrowser().UpdateCurrentPage();
         String currentUrl = bsmManager.GetBrowser().GetFocusedPage().GetUrl();
         
@@ -1361,12 +1373,12 @@ public class BibleSearchMobileTests
         // Scroll to the bottom of the page
         System.out.println("Scrolling to the bottom of the page");
         bsmManager.ScrollToBottom();
-        Thread.sleep(1000);
+        bsmManager.GetBrowser().Waits().WaitForScrolledDown();
         
         // Clicking the 'to top of page' button
         System.out.println("Clicking the 'back to top' element");
         bsmManager.ClickBackToTop();
-        Thread.sleep(1000);
+        bsmManager.GetBrowser().Waits().WaitForScrolledToTop(); // Wait as the page scrolls up
         
         // Retrieving the page's y offset
         JavascriptExecutor je = (JavascriptExecutor)bsmManager.GetBrowser().GetDriver();
@@ -10,14 +10,69 @@ public class Browser
     private List<Page> webPages; // Tracks pages open in the browser
     private Page focusedPage; // Current page the browser is focused on
     private ElementsHandler eleHandler; // For interacting with elements on the page
+    private PageWaiter waiter; // For waiting until the page is ready
     private EventFiringWebDriver driver; // A special class for WebDriver that can register events to listen for
     private BrowserListener eventListener; // A listener object that listens for events in the browser (specifically here, a change in the open page count)
+    private MetricsListener metricsListener; // A listener object that times the commands sent to the browser
+    private CommandMetrics metrics; // Where the time spent on commands/lookups/waits is recorded
+    private FixtureCache fixtures; // Page states (eg search results) that tests can reuse
+    private long interactionCount = 0; // How many times the page was clicked/typed into/navigated (for knowing if a page state is untouched)
+    
+    // Scripts for reading many WebElements in a single call (instead of a call per WebElement)
+    // NOTE: the text is made the same as getText() returns it - hidden elements have no text, non-breaking spaces are spaces, and
+    //     every line is trimmed (without blank lines in between)
+    private static final String getTextFunctions =
+        "function isShown(node) {" +
+        "  for (var parent = node; parent && parent.nodeType === 1; parent = parent.parentNode) {" +
+        "    var style = window.getComputedStyle(parent);" +
+        "    if (style.display === 'none' || style.opacity === '0') return false;" +
+        "  }" +
+        "  return window.getComputedStyle(node).visibility !== 'hidden' && node.getClientRects().length > 0;" +
+        "}" +
+        "function getText(node) {" +
+        "  if (!node || node.nodeType !== 1 || !isShown(node)) return '';" +
+        "  return node.innerText.replace(/\\u00a0/g, ' ').replace(/\\r\\n?/g, '\\n').split('\\n')" +
+        "    .map(function (line) { return line.replace(/[ \\t\\f\\v]+/g, ' ').trim(); })" +
+        "    .filter(function (line) { return line.length > 0; }).join('\\n');" +
+        "}";
+    // Reads every WebElement matching an id/xpath: arguments are (id, xpath, what to read - 'text'/'attribute'/'rect', attribute name)
+    // NOTE: attributes are read like getAttribute() reads them - the DOM property if there is one, otherwise the attribute
+    private static final String readByLocatorScript = getTextFunctions +
+        "var id = arguments[0], xpath = arguments[1], read = arguments[2], name = arguments[3], nodes = [];" +
+        "if (id) {" +
+        "  nodes = Array.prototype.slice.call(document.querySelectorAll('[id=\"' + id.replace(/[\"\\\\]/g, '\\\\$&') + '\"]'));" +
+        "} else {" +
+        "  var found = document.evaluate(xpath, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "  for (var i = 0; i < found.snapshotLength; i++) nodes.push(found.snapshotItem(i));" +
+        "}" +
+        "return nodes.map(function (node) {" +
+        "  if (read === 'text') return getText(node);" +
+        "  if (read === 'attribute') {" +
+        "    var value = (name in node && typeof node[name] !== 'object') ? node[name] : node.getAttribute(name);" +
+        "    return (value === null || value === undefined || value === false) ? null : String(value);" +
+        "  }" +
+        "  var rect = node.getBoundingClientRect();" +
+        "  return [rect.left + window.pageXOffset, rect.top + window.pageYOffset, rect.width, rect.height];" +
+        "});";
+    // Reads the text of WebElements already found: arguments are (WebElements, xpath relative to each WebElement - optional)
+    private static final String readTextsScript = getTextFunctions +
+        "var elements = arguments[0], xpath = arguments[1];" +
+        "return elements.map(function (element) {" +
+        "  return getText((xpath) ? document.evaluate(xpath, element, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue : element);" +
+        "});";
     
     public Browser(WebDriver driver) {
         // Setup the event listener
         this.driver = new EventFiringWebDriver(driver);
         this.eventListener = new BrowserListener(this);
         this.driver.register(eventListener);
+        
+        // Time every command (recorded nowhere in particular, until SetMetrics is called)
+        this.metrics = new CommandMetrics();
+        this.metricsListener = new MetricsListener(this.metrics);
+        this.driver.register(metricsListener);
+        
+        this.fixtures = new FixtureCache(this);
     }
     
     // Startup function, should be executed before any tests are run
@@ -37,6 +92,21 @@ public class Browser
         
         // Setup the elements handler
         this.eleHandler = new ElementsHandler(this.driver, tags);
+        this.waiter = new PageWaiter(this.driver, this.eleHandler);
+        this.eleHandler.SetMetrics(this.metrics);
+        this.waiter.SetMetrics(this.metrics);
+    }
+    
+    // Changes where the time spent on commands/lookups/waits is recorded (eg metrics shared by a whole suite)
+    // (CommandMetrics) metrics: where to record the timings
+    public void SetMetrics(CommandMetrics metrics) {
+        this.metrics = metrics;
+        this.metricsListener.SetMetrics(metrics);
+        
+        if (this.eleHandler != null) {
+            this.eleHandler.SetMetrics(metrics);
+            this.waiter.SetMetrics(metrics);
+        }
     }
     
     // Get the current page
@@ -49,6 +119,38 @@ public class Browser
         return this.eleHandler;
     }
     
+    // Get methods to wait until the page is ready
+    public PageWaiter Waits() {
+        return this.waiter;
+    }
+    
+    // Get page states that can be reused between tests
+    public FixtureCache Fixtures() {
+        return this.fixtures;
+    }
+    
+    // Counts an interaction with the page (called by the listener whenever something is clicked/typed into, or the browser navigates)
+    public void PageInteracted() {
+        this.interactionCount++;
+    }
+    
+    // Gets how many times the page was interacted with
+    public long GetInteractionCount() {
+        return this.interactionCount;
+    }
+    
+    // Runs a script that changes the page (eg a click or a scroll), and counts it as an interaction with the page (scripts that only read
+    //     the page should be run through the driver directly, so that the page can still be reused)
+    // (String) script: the script to run
+    // (Object...) args: the arguments passed to the script (eg WebElements)
+    public Object RunPageScript(String script, Object... args) {
+        try {
+            return this.driver.executeScript(script, args);
+        } finally {
+            this.PageInteracted();
+        }
+    }
+    
     // Get the web driver
     public EventFiringWebDriver GetDriver() {
         return this.driver;
@@ -59,6 +161,7 @@ public class Browser
         Page currentPage = new Page(this.driver.getCurrentUrl(), this.driver.getTitle(), this.driver.getWindowHandle());
         
         if (!currentPage.equals(this.focusedPage)) {
+            this.ForgetPageElements(); // Elements found on the previous page can't be reused
             this.webPages.remove(this.focusedPage);
             this.focusedPage = currentPage;
             this.webPages.add(this.focusedPage);
@@ -67,6 +170,12 @@ public class Browser
         }
     }
     
+    // Forgets the WebElements found on the focused page (called when the browser navigates, or switches pages)
+    public void ForgetPageElements() {
+        if (this.eleHandler != null)
+            this.eleHandler.ClearCache();
+    }
+    
     // Updates the list of open pages (ie tabs)
     // Only tracks addition of pages to the WebDriver
     public void UpdatePages() {
@@ -146,6 +255,16 @@ public class Browser
         return null;
     }
     
+    // Waits until a page (ie tab) with a particular title is open, eg one opened by a link (its title is only known once it has loaded)
+    // (String) pageTitle: the title of a page (eg 'נקדן אוטומטי - חינמי מבית דיקטה')
+    public boolean WaitForPage(String pageTitle) {
+        return this.waiter.Until("page " + pageTitle, driver -> {
+            this.UpdatePages();
+            this.RefreshPageList();
+            return this.GetPageByTitle(pageTitle) != null;
+        }) != null;
+    }
+
     // Get all open pages
     public List<Page> GetAllPages() {
         return this.webPages;
@@ -249,6 +368,7 @@ public class Browser
    // (Page) pageToClose: the Page object of the page being closed
    private void ClosePageHelper(Page pageToClose) {
        boolean pageIsFocus = this.focusedPage.equals(pageToClose);
+       this.ForgetPageElements();
        
        // Exit if the page to close is the only one
        if (this.webPages.size() == 1 && pageIsFocus) {
@@ -272,6 +392,81 @@ public class Browser
        }
    }
    
+   /*
+    * Batched reads - one call to the browser for all the WebElements, instead of one per WebElement
+    */
+   
+   // Returns the text of every WebElement of a tag loaded through the definitions file
+   // (String) tagName: the name of the tag to read
+   public List<String> GetTextsByDef(String tagName) {
+       WETag webTag = this.eleHandler.GetWebTagByDef(tagName);
+       return this.ReadTexts(webTag.GetID(), webTag.GetXPath());
+   }
+   
+   // Returns the text of every WebElement found by an xpath (eg a tag's xpath, narrowed down to the WebElements of one result)
+   // (String) xpath: the xpath of the WebElements to read
+   public List<String> GetTextsByXPath(String xpath) {
+       return this.ReadTexts(null, xpath);
+   }
+   
+   // Returns an attribute of every WebElement of a tag loaded through the definitions file (null for WebElements without it)
+   // (String) tagName: the name of the tag to read
+   // (String) attributeName: the attribute to read (eg 'href')
+   public List<String> GetAttributesByDef(String tagName, String attributeName) {
+       WETag webTag = this.eleHandler.GetWebTagByDef(tagName);
+       List<?> values = this.ReadByLocator(webTag.GetID(), webTag.GetXPath(), "attribute", attributeName);
+       
+       return values.stream().map(value -> (value != null) ? value.toString() : null).collect(Collectors.toList());
+   }
+   
+   // Returns the location and size of every WebElement of a tag loaded through the definitions file
+   // (String) tagName: the name of the tag to read
+   public List<Rectangle> GetRectsByDef(String tagName) {
+       WETag webTag = this.eleHandler.GetWebTagByDef(tagName);
+       List<Rectangle> rects = new ArrayList<Rectangle>();
+       
+       for (Object rectValues : this.ReadByLocator(webTag.GetID(), webTag.GetXPath(), "rect", null)) {
+           List<?> values = (List<?>)rectValues; // x, y, width, height
+           rects.add(new Rectangle(((Number)values.get(0)).intValue(), ((Number)values.get(1)).intValue(),
+               ((Number)values.get(3)).intValue(), ((Number)values.get(2)).intValue()));
+       }
+       
+       return rects;
+   }
+   
+   // Returns the text of each WebElement in a list
+   // (List<WebElement>) elements: the WebElements to read
+   public List<String> GetTexts(List<WebElement> elements) {
+       return this.GetTexts(elements, null);
+   }
+   // Overloaded - reads the first WebElement found by an xpath relative to each WebElement instead ('' if there is none)
+   // (String) relativeXPath: the xpath to search by, from each WebElement (eg './div[1]')
+   public List<String> GetTexts(List<WebElement> elements, String relativeXPath) {
+       if (elements == null || elements.isEmpty())
+           return new ArrayList<String>();
+       
+       List<?> texts = (List<?>)this.driver.executeScript(readTextsScript, elements, relativeXPath);
+       return texts.stream().map(text -> (text != null) ? text.toString() : "").collect(Collectors.toList());
+   }
+   
+   // Helper method for the batched reads of texts by id/xpath
+   // (String) id: the id of the WebElements to read (null/empty to use the xpath)
+   // (String) xpath: the xpath of the WebElements to read
+   private List<String> ReadTexts(String id, String xpath) {
+       return this.ReadByLocator(id, xpath, "text", null).stream().map(text -> (text != null) ? text.toString() : "").collect(Collectors.toList());
+   }
+   
+   // Helper method for the batched reads by id/xpath
+   // (String) id: the id of the WebElements to read (null/empty to use the xpath)
+   // (String) xpath: the xpath of the WebElements to read
+   // (String) read: what to read of each WebElement ('text', 'attribute', or 'rect')
+   // (String) attributeName: the attribute to read (only used when reading attributes)
+   private List<?> ReadByLocator(String id, String xpath, String read, String attributeName) {
+       Object values = this.driver.executeScript(readByLocatorScript, id, xpath, read, attributeName);
+       
+       return (values instanceof List) ? (List<?>)values : new ArrayList<Object>();
+   }
+   
    // Closes everything
    public void Quit() {
        this.driver.quit();
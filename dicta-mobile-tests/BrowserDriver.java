@@ -3,6 +3,7 @@ import org.openqa.selenium.chrome.*;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.firefox.*;
 import java.util.*;
+import java.io.File;
 
 // Class to hold data for loading specific drivers for specific browsers into memory
 public class BrowserDriver {
@@ -10,15 +11,29 @@ public class BrowserDriver {
     private WebDriver browserDriver; // Web driver for the specific browser
     private String driverProperty; // For adding to the system path
     private String driverPath; // Path to the web driver executable
+    private String workerDownloadPath; // Where this driver's browser puts downloaded files (each parallel worker gets their own folder)
     private static String toDriverPath = "C:\\Users\\Yehuda\\Documents\\GitHub\\DictaMobileTests\\Selenium\\drivers\\";
     public static String downloadPath = "C:\\Users\\Yehuda\\Documents\\GitHub\\DictaMobileTests\\downloads\\";
+    public static int implicitWaitTime = 10; // Implicit wait (in seconds) set by the managers on every driver
 
     public BrowserDriver(String browserName) {
+        this(browserName, downloadPath);
+    }
+    // Overloaded - for setting the download folder (used when running tests in parallel, so that workers don't see each other's files)
+    public BrowserDriver(String browserName, String workerDownloadPath) {
         this.browserName = browserName;
         this.driverProperty = SelectDriverProperty(browserName);
         this.driverPath = SelectDriverPath(browserName);
+        this.workerDownloadPath = workerDownloadPath;
+        new File(workerDownloadPath).mkdirs();
         System.setProperty(this.driverProperty, toDriverPath + this.driverPath);
-        this.browserDriver = SelectWebDriver(browserName, downloadPath);
+        this.browserDriver = SelectWebDriver(browserName, workerDownloadPath);
+    }
+    
+    // Returns the download folder of a particular parallel worker (a sub-folder of the 'downloads' folder)
+    // (int) workerNum: the number of the worker (1-based)
+    public static String GetWorkerDownloadPath(int workerNum) {
+        return downloadPath + String.format("worker%d\\", workerNum);
     }
     
     // Returns the appropriate WebDriver class to the appropriate browser
@@ -89,4 +104,9 @@ public class BrowserDriver {
         return this.browserDriver;
     }
     
+    // Gets the folder downloaded files are put in
+    public String GetDownloadPath() {
+        return this.workerDownloadPath;
+    }
+    
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.events.AbstractWebDriverEventListener;
 
 // A listener class for paying attention when a new page (ie tab) has been opened, and updating the page count (only works if there is an increase in pages)
+// Also makes the browser forget WebElements found on a page, once it navigates away from it, and counts interactions with the page
 public class BrowserListener extends AbstractWebDriverEventListener
 {
     private Browser testBrowser; // Browser object
@@ -17,6 +18,7 @@ public class BrowserListener extends AbstractWebDriverEventListener
     }
     
     public void afterClickOn(WebElement element, WebDriver driver) {
+        testBrowser.PageInteracted();
         int pageCountAfter = driver.getWindowHandles().size();
         
         if (this.pageCountBefore < pageCountAfter) {
@@ -24,4 +26,33 @@ public class BrowserListener extends AbstractWebDriverEventListener
             testBrowser.UpdatePages();
         }
     }
+    
+    public void afterNavigateTo(String url, WebDriver driver) {
+        testBrowser.ForgetPageElements();
+        testBrowser.PageInteracted();
+    }
+    
+    public void afterNavigateBack(WebDriver driver) {
+        testBrowser.ForgetPageElements();
+        testBrowser.PageInteracted();
+    }
+    
+    public void afterNavigateForward(WebDriver driver) {
+        testBrowser.ForgetPageElements();
+        testBrowser.PageInteracted();
+    }
+    
+    public void afterNavigateRefresh(WebDriver driver) {
+        testBrowser.ForgetPageElements();
+        testBrowser.PageInteracted();
+    }
+    
+    public void afterSwitchToWindow(String windowName, WebDriver driver) {
+        testBrowser.ForgetPageElements();
+        testBrowser.PageInteracted();
+    }
+    
+    public void afterChangeValueOf(WebElement element, WebDriver driver, CharSequence[] keysToSend) {
+        testBrowser.PageInteracted();
+    }
 }
@@ -0,0 +1,178 @@
+import org.openqa.selenium.json.Json;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Class for recording how long each step of the tests takes (WebDriver commands, element lookups, waits, navigation), by test and by
+//     definitions tag - so that it is known which steps take up most of a suite's time
+// NOTE: tests running in parallel each record under their own name (the name is kept per thread)
+public class CommandMetrics
+{
+    public static String reportPath = "metrics\\"; // Folder the reports are written to
+    
+    private Map<String, LatencyHistogram> histograms; // Latencies recorded, by test + category + name
+    private ThreadLocal<String> currentTest; // The test running on the current thread
+    
+    public CommandMetrics() {
+        this.histograms = new ConcurrentHashMap<String, LatencyHistogram>();
+        this.currentTest = ThreadLocal.withInitial(() -> "(setup)");
+    }
+    
+    // Marks the start of a test on the current thread (everything recorded afterwards is recorded under its name)
+    // (String) testName: the name of the test
+    public void StartTest(String testName) {
+        this.currentTest.set(testName);
+    }
+    
+    // Marks the end of the current thread's test
+    public void EndTest() {
+        this.currentTest.remove();
+    }
+    
+    // Records how long a step took, under the current test
+    // (String) category: what kind of step it was (eg 'command', 'lookup', 'wait', 'navigation')
+    // (String) name: which step it was (eg the definitions tag, or the command)
+    // (long) nanos: how long the step took (in nanoseconds)
+    public void Record(String category, String name, long nanos) {
+        String test = this.currentTest.get();
+        this.histograms.computeIfAbsent(test + "|" + category + "|" + name, key -> new LatencyHistogram(test, category, name)).Add(nanos);
+    }
+    
+    // Runs a step and records how long it took (even if it failed)
+    // (Supplier<T>) step: the step to run
+    public <T> T Time(String category, String name, Supplier<T> step) {
+        long start = System.nanoTime();
+        try {
+            return step.get();
+        } finally {
+            this.Record(category, name, System.nanoTime() - start);
+        }
+    }
+    
+    // Writes everything recorded to a .json and a .csv file, and prints the steps that took the most time overall
+    // (String) reportName: the name of the report files (eg the name of the suite)
+    public void WriteReport(String reportName) {
+        List<LatencyHistogram> sorted = new ArrayList<LatencyHistogram>(this.histograms.values());
+        sorted.sort(Comparator.comparingLong(LatencyHistogram::GetTotalNanos).reversed());
+        
+        File folder = new File(reportPath);
+        folder.mkdirs();
+        
+        // JSON
+        List<Map<String, Object>> rows = sorted.stream().map(LatencyHistogram::ToMap).collect(Collectors.toList());
+        try (PrintWriter writer = new PrintWriter(new File(folder, reportName + "-metrics.json"), StandardCharsets.UTF_8.name())) {
+            writer.print(new Json().toJson(rows));
+        } catch (IOException e) {
+            System.out.println(String.format("Could not write the metrics report! (Error: %s)", e.getMessage()));
+        }
+        
+        // CSV
+        try (PrintWriter writer = new PrintWriter(new File(folder, reportName + "-metrics.csv"), StandardCharsets.UTF_8.name())) {
+            writer.println("test,category,name,count,total_ms,mean_ms,min_ms,p50_ms,p95_ms,max_ms");
+            for (LatencyHistogram histogram : sorted)
+                writer.println(histogram.ToCsvLine());
+        } catch (IOException e) {
+            System.out.println(String.format("Could not write the metrics report! (Error: %s)", e.getMessage()));
+        }
+        
+        // Steps that took the most time (all tests together)
+        Map<String, Long> totalsByStep = new HashMap<String, Long>();
+        for (LatencyHistogram histogram : sorted)
+            totalsByStep.merge(histogram.category + " '" + histogram.name + "'", histogram.GetTotalNanos(), Long::sum);
+        
+        System.out.println(String.format("Slowest steps (report written to '%s%s-metrics.json/.csv')\n------------", reportPath, reportName));
+        totalsByStep.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(10)
+            .forEach(step -> System.out.println(String.format("%8d ms - %s", step.getValue() / 1000000, step.getKey())));
+        System.out.println("");
+    }
+    
+    // Latencies of a single step, in exponential buckets (bucket 0 is under 1ms, bucket i is [2^(i-1)ms, 2^i ms))
+    private static class LatencyHistogram
+    {
+        private static final int bucketCount = 20; // Last bucket holds everything from ~4.5 minutes and up
+        
+        private String test;
+        private String category;
+        private String name;
+        private long[] buckets = new long[bucketCount];
+        private long count = 0;
+        private long totalNanos = 0;
+        private long minNanos = Long.MAX_VALUE;
+        private long maxNanos = 0;
+        
+        public LatencyHistogram(String test, String category, String name) {
+            this.test = test;
+            this.category = category;
+            this.name = name;
+        }
+        
+        public synchronized void Add(long nanos) {
+            long millis = nanos / 1000000;
+            int bucket = (millis == 0) ? 0 : Math.min(bucketCount - 1, 64 - Long.numberOfLeadingZeros(millis));
+            
+            this.buckets[bucket]++;
+            this.count++;
+            this.totalNanos += nanos;
+            this.minNanos = Math.min(this.minNanos, nanos);
+            this.maxNanos = Math.max(this.maxNanos, nanos);
+        }
+        
+        public synchronized long GetTotalNanos() {
+            return this.totalNanos;
+        }
+        
+        // Returns the (approximate) latency that a percentage of the recorded latencies are under, in milliseconds
+        // (double) percentile: between 0 and 1 (eg 0.95)
+        private double GetPercentile(double percentile) {
+            long needed = (long)Math.ceil(this.count * percentile);
+            long seen = 0;
+            
+            for (int i = 0; i < bucketCount; i++) {
+                seen += this.buckets[i];
+                if (seen >= needed)
+                    return Math.min((double)(1L << i), this.maxNanos / 1000000.0); // Upper bound of the bucket
+            }
+            
+            return this.maxNanos / 1000000.0;
+        }
+        
+        public synchronized Map<String, Object> ToMap() {
+            Map<String, Object> map = new LinkedHashMap<String, Object>();
+            map.put("test", this.test);
+            map.put("category", this.category);
+            map.put("name", this.name);
+            map.put("count", this.count);
+            map.put("totalMs", this.totalNanos / 1000000.0);
+            map.put("meanMs", this.totalNanos / 1000000.0 / this.count);
+            map.put("minMs", this.minNanos / 1000000.0);
+            map.put("p50Ms", this.GetPercentile(0.5));
+            map.put("p95Ms", this.GetPercentile(0.95));
+            map.put("maxMs", this.maxNanos / 1000000.0);
+            
+            List<Long> bucketCounts = new ArrayList<Long>();
+            for (long bucket : this.buckets)
+                bucketCounts.add(bucket);
+            map.put("buckets", bucketCounts);
+            
+            return map;
+        }
+        
+        public synchronized String ToCsvLine() {
+            return String.format(Locale.ROOT, "%s,%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f", Escape(this.test), Escape(this.category), Escape(this.name),
+                this.count, this.totalNanos / 1000000.0, this.totalNanos / 1000000.0 / this.count, this.minNanos / 1000000.0,
+                this.GetPercentile(0.5), this.GetPercentile(0.95), this.maxNanos / 1000000.0);
+        }
+        
+        // Quotes a CSV value (names can be xpaths, which may have commas/quotes in them)
+        private static String Escape(String value) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+}
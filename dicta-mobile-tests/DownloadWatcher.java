@@ -0,0 +1,121 @@
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.*;
+
+// Class for watching a 'downloads' folder, and finding out when an expected file has finished downloading (instead of sleeping, or
+//     scanning the whole folder for it)
+// NOTE: Chrome/Firefox first write to a temporary file ('.crdownload'/'.part'), and only rename it once the download is done - so a file
+//     with the expected extension (that isn't empty) is a finished download
+public class DownloadWatcher implements AutoCloseable
+{
+    private Path downloadFolder; // The folder the browser downloads files to
+    private WatchService watchService; // Tells the watcher about files created/changed in the folder
+    private Map<String, CompletableFuture<Path>> expectedDownloads; // Downloads being waited on, by file extension
+    private int waitTime = 15; // Maximum time to wait for a download - 15 seconds
+    
+    public DownloadWatcher(String downloadPath) throws IOException {
+        this.downloadFolder = Paths.get(downloadPath);
+        this.expectedDownloads = new ConcurrentHashMap<String, CompletableFuture<Path>>();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.downloadFolder.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        
+        // Events are handled on their own thread, so that a download finishing completes its future right away
+        Thread watchThread = new Thread(this::WatchFolder, "DownloadWatcher-" + this.downloadFolder.getFileName());
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+    
+    // Starts waiting for a file with a particular extension, and returns a future that is completed with the file once it is downloaded
+    // (String) extension: the extension of the file to be downloaded (eg '.docx')
+    // NOTE: should be called BEFORE the action that starts the download, otherwise the file might be missed
+    public CompletableFuture<Path> Expect(String extension) {
+        CompletableFuture<Path> download = new CompletableFuture<Path>();
+        this.expectedDownloads.put(extension, download);
+        return download;
+    }
+    
+    // Waits until an expected download has finished, and returns the downloaded file (null if it was not downloaded in time)
+    // (CompletableFuture<Path>) download: the future returned by Expect
+    public Path WaitFor(CompletableFuture<Path> download) {
+        try {
+            return download.get(this.waitTime, TimeUnit.SECONDS);
+        } catch (TimeoutException | ExecutionException | CancellationException e) {
+            System.out.println(String.format("Could not find downloaded file! (folder: '%s', Error: %s)", this.downloadFolder, e));
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            this.expectedDownloads.values().remove(download);
+        }
+    }
+    
+    // Stops watching the folder (downloads still being waited on are cancelled)
+    @Override
+    public void close() throws IOException {
+        for (CompletableFuture<Path> download : this.expectedDownloads.values())
+            download.cancel(false);
+        
+        this.expectedDownloads.clear();
+        this.watchService.close();
+    }
+    
+    // Handles the folder's events until the watcher is closed
+    private void WatchFolder() {
+        try {
+            while (true) {
+                WatchKey key = this.watchService.take();
+                
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // Too many events happened at once, and some were lost - check every file in the folder instead
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        this.CheckFolder();
+                        continue;
+                    }
+                    
+                    this.CheckFile(this.downloadFolder.resolve((Path)event.context()));
+                }
+                
+                if (!key.reset()) // The folder is gone
+                    return;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher was closed
+        }
+    }
+    
+    // Checks every file in the folder against the expected downloads (only done if events were lost)
+    private void CheckFolder() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.downloadFolder)) {
+            for (Path file : files)
+                this.CheckFile(file);
+        } catch (IOException e) {
+            System.out.println(String.format("Could not read the downloads folder! (Error: %s)", e.getMessage()));
+        }
+    }
+    
+    // Completes the expected download that a file belongs to, if the file has finished downloading
+    // (Path) file: a file that was created/changed in the folder
+    private void CheckFile(Path file) {
+        String fileName = file.getFileName().toString();
+        
+        if (fileName.endsWith(".crdownload") || fileName.endsWith(".part"))
+            return;
+        
+        for (Map.Entry<String, CompletableFuture<Path>> expected : this.expectedDownloads.entrySet()) {
+            if (!fileName.endsWith(expected.getKey()))
+                continue;
+            
+            try {
+                if (Files.size(file) == 0) // Firefox creates an empty file first, and replaces it once the download is done
+                    return;
+            } catch (IOException e) {
+                return; // File was renamed/removed in the meantime
+            }
+            
+            expected.getValue().complete(file);
+            this.expectedDownloads.remove(expected.getKey(), expected.getValue());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.PollingStrategy;
+import org.openqa.selenium.support.ui.WaitStatistics;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import java.time.Duration;
 import java.util.*;
 import definitions.*;
 
@@ -10,36 +13,102 @@ public class ElementsHandler
     private WebDriver driver; // WebDriver started at the begining of the test(s)
     private int waitTime = 10; // Explicit wait time - 10 seconds
     private HashSet<Tag> tags; // Tags loaded from the definitions file
+    private HashMap<String, WETag> webTags; // Webelement tags loaded from the definitions file, by tag name
+    private HashMap<String, By> locators; // Locators of the webelement tags, by tag name (built once, when the handler is created)
+    private HashMap<String, WebElement> elementCache; // WebElements already found on the current page, by tag name (cleared when the page changes)
+    private CommandMetrics metrics; // Where the time spent finding WebElements is recorded
+    private PollingStrategy pollingStrategy; // How long to wait between checks for a WebElement (a few round trips to the driver)
     
     public ElementsHandler(WebDriver driver, HashSet<Tag> tags) {
         this.driver = driver;
         this.tags = tags;
+        this.webTags = IndexWebTags(tags);
+        this.locators = BuildLocators(this.webTags);
+        this.elementCache = new HashMap<String, WebElement>();
+        this.metrics = new CommandMetrics();
+        this.pollingStrategy = DefaultPollingStrategy(driver);
     }
     // Overloaded - for setting the explicit wait time
     public ElementsHandler(WebDriver driver, HashSet<Tag> tags, int waitTime) {
         this.driver = driver;
         this.tags = tags;
+        this.webTags = IndexWebTags(tags);
+        this.locators = BuildLocators(this.webTags);
+        this.elementCache = new HashMap<String, WebElement>();
+        this.metrics = new CommandMetrics();
+        this.pollingStrategy = DefaultPollingStrategy(driver);
         this.waitTime = waitTime;
     }
     
+    // Returns the polling strategy the waits for WebElements use by default - checks again a few round trips to the driver later (but no
+    //     sooner than 25 milliseconds, and no later than 500 milliseconds), spread out a little so that parallel tests don't poll together
+    // (WebDriver) driver: the driver whose round trips are measured
+    private static PollingStrategy DefaultPollingStrategy(WebDriver driver) {
+        return PollingStrategy.latencyAware(driver, 3, Duration.ofMillis(25), Duration.ofMillis(500)).withJitter(0.2);
+    }
+    
+    // Changes how long the waits for WebElements wait between checks (eg a fixed/exponential strategy, for comparing)
+    public void SetPollingStrategy(PollingStrategy pollingStrategy) {
+        this.pollingStrategy = pollingStrategy;
+    }
+    
+    // Changes where the time spent finding WebElements is recorded
+    public void SetMetrics(CommandMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    // Indexes the webelement tags loaded through the definitions file by their names
+    // (HashSet<Tag>) tags: tags loaded from the definitions file
+    private static HashMap<String, WETag> IndexWebTags(HashSet<Tag> tags) {
+        HashMap<String, WETag> webTags = new HashMap<String, WETag>();
+        
+        for (Tag tag : tags) {
+            if (tag instanceof WETag)
+                webTags.put(tag.GetName(), (WETag)tag);
+        }
+        
+        return webTags;
+    }
+    
+    // Creates the locator (By.id/By.xpath) of every webelement tag loaded through the definitions file
+    // (HashMap<String, WETag>) webTags: webelement tags loaded from the definitions file, by tag name
+    // Note: the method first checks if the tag has an id, then xpath
+    private static HashMap<String, By> BuildLocators(HashMap<String, WETag> webTags) {
+        HashMap<String, By> locators = new HashMap<String, By>();
+        
+        for (WETag webTag : webTags.values())
+            locators.put(webTag.GetName(), (!webTag.GetID().equals("")) ? By.id(webTag.GetID()) : By.xpath(webTag.GetXPath()));
+        
+        return locators;
+    }
+    
     // Returns a WebElement by id/xpath by searching through tags loaded through the defintions file (
     // (String) tagName: the name of the tag to search for
     // Note: the method first checks if the tag has an id, then xpath
+    // Note: an element found before on the same page is reused (costs a single check instead of finding it again), unless it went stale
     public WebElement GetElementByDef(String tagName) {
-        WebElement element = null;
+        return this.metrics.Time("lookup", tagName, () -> this.GetElementByDefHelper(tagName));
+    }
         
-        for (Tag tag : this.tags) {
-            if (tag.GetName().equals(tagName)) {
-                WETag webTag = (WETag)tag;
+    // Helper method for 'GetElementByDef'
+    private WebElement GetElementByDefHelper(String tagName) {
+        WebElement element = this.elementCache.get(tagName);
                 
-                if (!webTag.GetID().equals("")) {
-                    element = this.GetElementByID(webTag.GetID());
-                } else {
-                    element = this.GetElementByXPath(webTag.GetXPath());
-                }
+        if (element != null) {
+            try {
+                if (element.isDisplayed())
+                    return element;
+            } catch (StaleElementReferenceException e) {
+                System.out.println(String.format("Element of '%s' is no longer on the page, finding it again", tagName));
             }   
+            
+            this.elementCache.remove(tagName);
         }
         
+        element = this.GetElementByLocator(this.GetLocatorByDef(tagName), this.waitTime);
+        if (element != null)
+            this.elementCache.put(tagName, element);
+        
         return element;
     }
     
@@ -48,86 +117,62 @@ public class ElementsHandler
     // (boolean) nulIfNotFound: suppresses end-of-execution if the desired WebElements have not been found (error message is still printed)
     // Note: the method first checks if the tag has an id, then xpath
     public List<WebElement> GetElementsByDef(String tagName, boolean nullIfNotFound) {
-        List<WebElement> elements = null;
+        return this.metrics.Time("lookup", tagName, () -> this.GetElementsByLocator(this.GetLocatorByDef(tagName), nullIfNotFound, this.waitTime));
+    }
         
-        for (Tag tag : this.tags) {
-            if (tag.GetName().equals(tagName)) {
-                WETag webTag = (WETag)tag;
+    // Returns the locator (By.id/By.xpath) of a tag loaded through the definitions file (for waiting on elements without getting them)
+    // (String) tagName: the name of the tag to search for
+    // Note: the method first checks if the tag has an id, then xpath
+    public By GetLocatorByDef(String tagName) {
+        By locator = this.locators.get(tagName);
                 
-                if (!webTag.GetID().equals("")) {
-                    elements = this.GetElementsByID(webTag.GetID(), nullIfNotFound);
-                } else {
-                    elements = this.GetElementsByXPath(webTag.GetXPath(), nullIfNotFound);
-                }
-            }   
+        if (locator == null) {
+            String message = String.format("Could not find requested tag! (name: '%s')\n", tagName);
+            System.out.println(message);
+            throw new IllegalArgumentException(message);
         }
         
-        return elements;
+        return locator;
+    }
+    
+    // Returns a webelement tag loaded through the definitions file (for locating its WebElements some other way, eg in a script)
+    // (String) tagName: the name of the tag to get
+    public WETag GetWebTagByDef(String tagName) {
+        WETag webTag = this.webTags.get(tagName);
+        
+        if (webTag == null) {
+            String message = String.format("Could not find requested tag! (name: '%s')\n", tagName);
+            System.out.println(message);
+            throw new IllegalArgumentException(message);
+        }
+        
+        return webTag;
+    }
+    
+    // Forgets every WebElement found so far (should be called whenever the browser moves to a different page)
+    public void ClearCache() {
+        this.elementCache.clear();
     }
     
     // Find an element in a page through their id
     // (String) id: the id of the WebElement to get
     public WebElement GetElementByID(String id) {
-        WebElement element = null;
-       
-        try {
-            WebDriverWait wait = new WebDriverWait(this.driver, this.waitTime);
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.id(id)));
-            element = this.driver.findElement(By.id(id));
-           
-        } catch (Exception e) { 
-            System.out.println(e.getMessage());
-        }
-       
-        return element;
+        return this.GetElementByLocator(By.id(id), this.waitTime);
     }
     // Overloaded - lets you set the time for explicit wait
     public WebElement GetElementByID(String id, int waitTime) {
-        WebElement element = null;
-       
-        try {
-            WebDriverWait wait = new WebDriverWait(this.driver, waitTime);
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.id(id)));
-            element = this.driver.findElement(By.id(id));
-            
-        } catch (Exception e) { 
-            System.out.println(e.getMessage());
-        }
-       
-        return element;
+        return this.GetElementByLocator(By.id(id), waitTime);
     }
    
    
     // Finds an element in a page through an xpath string
     // (String) xpath: the xpath of the WebElement to get
     public WebElement GetElementByXPath(String xpath) {
-        WebElement element = null;
-       
-        try {
-            WebDriverWait wait = new WebDriverWait(this.driver, this.waitTime);
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(xpath)));
-            element = this.driver.findElement(By.xpath(xpath));
-           
-        } catch (Exception e) { 
-            System.out.println(e.getMessage());
-        }
-       
-        return element;
+        return this.GetElementByLocator(By.xpath(xpath), this.waitTime);
     }
     // Overloaded - lets you set the time for explicit wait
     public WebElement GetElementByXPath(String xpath, int waitTime) {
-        WebElement element = null;
-       
-        try {
-            WebDriverWait wait = new WebDriverWait(this.driver, waitTime);
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(xpath)));
-            element = this.driver.findElement(By.xpath(xpath));
-           
-        } catch (Exception e) { 
-            System.out.println(e.getMessage());
-        }
-       
-        return element;
+        return this.GetElementByLocator(By.xpath(xpath), waitTime);
     }
    
    
@@ -135,75 +180,68 @@ public class ElementsHandler
     // (String) xpath: the xpath of the WebElement to get
     // (boolean) nulIfNotFound: suppresses end-of-execution if the desired WebElements have not been found (error message is still printed)
     public List<WebElement> GetElementsByXPath(String xpath, boolean nullIfNotFound) {
-        List<WebElement> elements = null;
-       
-        try {
-            WebDriverWait wait = new WebDriverWait(this.driver, this.waitTime);
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(xpath)));
-            elements = this.driver.findElements(By.xpath(xpath));
-        } catch (Exception e) {
-           
-            if (!nullIfNotFound)
-                System.out.println(e.getMessage());
-            else {
-                System.out.println(String.format("Error, continuing execution (message: %s)", e.getMessage()));
-                return null;
-            }
-        }
-       
-        return elements;
+        return this.GetElementsByLocator(By.xpath(xpath), nullIfNotFound, this.waitTime);
     }
     // Overloaded for explicit wait
     public List<WebElement> GetElementsByXPath(String xpath, boolean nullIfNotFound, int waitTime) {
-        List<WebElement> elements = null;
-       
-        try {
-            WebDriverWait wait = new WebDriverWait(this.driver, waitTime);
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(xpath)));
-            elements = this.driver.findElements(By.xpath(xpath));
-        } catch (Exception e) {
-           
-            if (!nullIfNotFound)
-                System.out.println(e.getMessage());
-            else {
-                System.out.println(String.format("Error, continuing execution (message: %s)", e.getMessage()));
-                return null;
-            }
-        } 
-       
-        return elements;
+        return this.GetElementsByLocator(By.xpath(xpath), nullIfNotFound, waitTime);
     }
    
    // Returns a list of WebElements gotten from an id string
    // (String) id: the id of the WebElements to get
    // (boolean) nulIfNotFound: suppresses end-of-execution if the desired WebElements have not been found (error message is still printed)
     public List<WebElement> GetElementsByID(String id, boolean nullIfNotFound) {
-        List<WebElement> elements = null;
+        return this.GetElementsByLocator(By.id(id), nullIfNotFound, this.waitTime);
+    }
+    // Overloaded for explicit wait
+    public List<WebElement> GetElementsByID(String id, boolean nullIfNotFound, int waitTime) {
+        return this.GetElementsByLocator(By.id(id), nullIfNotFound, waitTime);
+    }
         
+    // Finds an element in a page through a locator, waiting until it is visible
+    // (By) locator: the locator (id/xpath) of the WebElement to get
+    // (int) waitTime: how long to wait for the WebElement (in seconds)
+    private WebElement GetElementByLocator(By locator, int waitTime) {
+        WebElement element = null;
+       
         try {
-            WebDriverWait wait = new WebDriverWait(this.driver, this.waitTime);
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.id(id)));
-            elements = this.driver.findElements(By.id(id));
-        } catch (Exception e) {
-            
-            if (!nullIfNotFound)
-                System.out.println(e.getMessage());
-            else {
-                System.out.println(String.format("Error, continuing execution (message: %s)", e.getMessage()));
-                return null;
+            // The wait returns the element it found, so there is no need to find it again
+            WebDriverWait wait = this.NewWait(waitTime);
+            try {
+                element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            } finally {
+                this.RecordWait(locator, wait.getLastWaitStatistics());
             }
+            
+        } catch (Exception e) { 
+            System.out.println(e.getMessage());
         }
        
-        return elements;
+        return element;
     }
-    // Overloaded for explicit wait
-    public List<WebElement> GetElementsByID(String id, boolean nullIfNotFound, int waitTime) {
+   
+    // Finds a list of elements in a page through a locator, waiting until the first one is visible
+    // (By) locator: the locator (id/xpath) of the WebElements to get
+    // (boolean) nulIfNotFound: suppresses end-of-execution if the desired WebElements have not been found (error message is still printed)
+    // (int) waitTime: how long to wait for the WebElements (in seconds)
+    private List<WebElement> GetElementsByLocator(By locator, boolean nullIfNotFound, int waitTime) {
         List<WebElement> elements = null;
        
         try {
-            WebDriverWait wait = new WebDriverWait(this.driver, waitTime);
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.id(id)));
-            elements = this.driver.findElements(By.id(id));
+            // Find all the elements while waiting (instead of waiting on the first one, and then finding all of them)
+            WebDriverWait wait = this.NewWait(waitTime);
+            try {
+                elements = wait.until(driver -> {
+                    try {
+                        List<WebElement> found = driver.findElements(locator);
+                        return (!found.isEmpty() && found.get(0).isDisplayed()) ? found : null;
+                    } catch (StaleElementReferenceException e) {
+                        return null;
+                    }
+                });
+            } finally {
+                this.RecordWait(locator, wait.getLastWaitStatistics());
+            }
         } catch (Exception e) {
             
             if (!nullIfNotFound)
@@ -216,4 +254,22 @@ public class ElementsHandler
        
         return elements;
     }
+   
+    // Creates a wait for WebElements that checks for them as often as the polling strategy says
+    // (int) waitTime: how long to wait (in seconds)
+    private WebDriverWait NewWait(int waitTime) {
+        WebDriverWait wait = new WebDriverWait(this.driver, waitTime);
+        if (this.pollingStrategy != null)
+            wait.pollingWith(this.pollingStrategy);
+        
+        return wait;
+    }
+    
+    // Records how late a wait for WebElements may have noticed them (for tuning the polling strategy)
+    // (By) locator: the locator that was waited on
+    // (WaitStatistics) statistics: how the wait went (null if it ended in an error)
+    private void RecordWait(By locator, WaitStatistics statistics) {
+        if (statistics != null)
+            this.metrics.Record("wait overshoot", locator.toString(), statistics.getOvershoot().toNanos());
+    }
 }
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.function.Consumer;
 import java.io.*;
 import org.jsoup.*;
 import org.jsoup.nodes.*;
@@ -8,10 +9,17 @@ import org.apache.poi.xwpf.usermodel.*;
 import org.apache.poi.xwpf.extractor.*;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 // For loading files into memory
+// NOTE: every file type can also be streamed line by line (the Stream* methods), for checking large files without keeping all of their lines
 public class FileLoader
 {
+    private static final String wordNamespace = "http://schemas.openxmlformats.org/wordprocessingml/2006/main"; // Namespace of the 'w:' tags in a .docx
+    
     public FileLoader() {
     }
     
@@ -20,7 +28,15 @@ public class FileLoader
     // (boolean) trimWhitespace: whether or not to trim the whitespace from each line (native java method for this does not work, somehow)
     public static List<String> LoadTextFile(String fullPathToFile, boolean trimWhitespace) {
         List<String> lines = new ArrayList<String>();
+        StreamTextFile(fullPathToFile, trimWhitespace, lines::add);
+        return lines;
+    }
         
+    // Reads a text-like file one line at a time, and passes every non-empty line on (the file is never fully loaded into memory)
+    // (String) fullPathToFile: the path to the downloaded file + the filename of the downloaded file
+    // (boolean) trimWhitespace: whether or not to trim the whitespace from each line (native java method for this does not work, somehow)
+    // (Consumer<String>) lineAction: what to do with each line
+    public static void StreamTextFile(String fullPathToFile, boolean trimWhitespace, Consumer<String> lineAction) {
         try (BufferedReader br = new BufferedReader(new FileReader(new File(fullPathToFile)))) {
             String st = "";     
             
@@ -30,14 +46,12 @@ public class FileLoader
                 if (removedWhitespace.length() == 0)
                     continue;
                     
-                lines.add((trimWhitespace) ? removedWhitespace : st);
+                lineAction.accept((trimWhitespace) ? removedWhitespace : st);
             }
             
         } catch(IOException e) {
                 e.printStackTrace();
         }
-        
-        return lines;
     }
     
     // HTML files
@@ -48,7 +62,18 @@ public class FileLoader
     // NOTE: Format saved in html file: <h3> tags have source, <p> tags contain the results, <br> tags are present in if there are multiple verses
     //     returned for a particular search result, <b> tags mark the search text found
     public static List<String> LoadHtmlFile(String fullPathToFile, boolean trimWhitespace) {
-        String htmlString = "";
+        List<String> htmlTextLines = new ArrayList<String>();
+        StreamHtmlFile(fullPathToFile, trimWhitespace, htmlTextLines::add);
+        return htmlTextLines;
+    }
+    
+    // Parses an html file, and passes on its lines one at a time (same lines as LoadHtmlFile, without collecting them into a list)
+    // (String) fullPathToFile: the path to the downloaded file + the filename of the downloaded file
+    // (boolean) trimWhitespace: whether or not to trim the whitespace from each line (native java method for this does not work, somehow)
+    // (Consumer<String>) lineAction: what to do with each line
+    // NOTE: jsoup needs the whole document to parse it, so only the lines (and not the document) are streamed
+    public static void StreamHtmlFile(String fullPathToFile, boolean trimWhitespace, Consumer<String> lineAction) {
+        StringBuilder htmlString = new StringBuilder();
         
         // Create html string to parse
         try (BufferedReader br = new BufferedReader(new FileReader(new File(fullPathToFile)))) {
@@ -60,7 +85,7 @@ public class FileLoader
                 if (removedWhitespace.length() == 0)
                     continue;
 
-                htmlString += (trimWhitespace) ? removedWhitespace : st;
+                htmlString.append((trimWhitespace) ? removedWhitespace : st);
             }
             
         } catch(IOException e) {
@@ -68,11 +93,10 @@ public class FileLoader
         }
         
         // Parse string
-        org.jsoup.nodes.Document htmlDoc = Jsoup.parse(htmlString);
+        org.jsoup.nodes.Document htmlDoc = Jsoup.parse(htmlString.toString());
         
-        // Analyze elements and put lines into a list
+        // Analyze elements and pass their lines on
         List<Element> bodyElements = htmlDoc.body().getAllElements();
-        List<String> htmlTextLines = new ArrayList();
                 
         for (Element bodyElement : bodyElements) {
             String tagName = bodyElement.tag().getName();
@@ -96,17 +120,15 @@ public class FileLoader
                 List<String> splitTexts = Arrays.asList(fullText.split("\n"));
                         
                 for (String text : splitTexts)
-                    htmlTextLines.add(FileLoader.TrimWhitespace(text.replace("<b>", "").replace("</b>", "")));
+                    lineAction.accept(FileLoader.TrimWhitespace(text.replace("<b>", "").replace("</b>", "")));
             } else
-                htmlTextLines.add(FileLoader.TrimWhitespace(bodyElement.text()));
+                lineAction.accept(FileLoader.TrimWhitespace(bodyElement.text()));
         }
-        
-        return htmlTextLines;
     }
     
-    // Load an HTML file using an InputStream instead (ONLY used for loading the Word document)
+    // Load an HTML file using an InputStream instead
     public static org.jsoup.nodes.Document LoadHtmlFile(InputStream fileStream, boolean trimWhitespace) {
-        String htmlString = "";
+        StringBuilder htmlString = new StringBuilder();
         
         // Create html string to parse
         
@@ -119,7 +141,7 @@ public class FileLoader
                 if (removedWhitespace.length() == 0)
                     continue;
 
-                htmlString += (trimWhitespace) ? removedWhitespace : st;
+                htmlString.append((trimWhitespace) ? removedWhitespace : st);
             }
             
         } catch(IOException e) {
@@ -127,7 +149,7 @@ public class FileLoader
         }
         
         // Parse string
-        org.jsoup.nodes.Document doc = Jsoup.parse(htmlString);
+        org.jsoup.nodes.Document doc = Jsoup.parse(htmlString.toString());
         
         return doc;
     }
@@ -135,46 +157,73 @@ public class FileLoader
     // Loads a .docx Word document into memory, and returns the lines as a list of strings
     // (String) fullPathToFile: the path to the downloaded file + the filename of the downloaded file
     // (boolean) trimWhitespace: whether or not to trim the whitespace from each line (native java method for this does not work, somehow)
+    public static List<String> LoadWordFile(String fullPathToFile, boolean trimWhitespace) throws InvalidFormatException {
+        List<String> wordTextLines = new ArrayList<String>();
+        StreamWordFile(fullPathToFile, line -> wordTextLines.add((trimWhitespace) ? TrimWhitespace(line) : line));
+        return wordTextLines;
+    }
+    
+    // Reads a .docx Word document one tag at a time, and passes on each line as soon as it ends
+    // (String) fullPathToFile: the path to the downloaded file + the filename of the downloaded file
+    // (Consumer<String>) lineAction: what to do with each line
     
     // NOTE: Since the word document is in .docx format, the actual text can be extracted from the xml file portion (as a .docx is an archive)
     // All text is contained within w:p (paragraph) tags. Actual text is contained within w:t (text) tags, and linebreaks are done with w:br
     //     tags.
-    public static List<String> LoadWordFile(String fullPathToFile, boolean trimWhitespace) throws InvalidFormatException {
-        org.jsoup.nodes.Document docFromXML = null;
+    public static void StreamWordFile(String fullPathToFile, Consumer<String> lineAction) {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false); // document.xml has no DTD, and external entities should never be loaded
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
         
-        try (ZipFile zp = new ZipFile(new File(fullPathToFile))) {
-            ZipEntry textFromXML = zp.getEntry("word/document.xml");
-            docFromXML = LoadHtmlFile(zp.getInputStream(textFromXML), trimWhitespace);
-        } catch(IOException e) {
-                e.printStackTrace();
-        }
+        try (ZipFile zp = new ZipFile(new File(fullPathToFile));
+             InputStream xmlStream = zp.getInputStream(zp.getEntry("word/document.xml"))) {
+            XMLStreamReader reader = factory.createXMLStreamReader(xmlStream, "UTF-8");
         
-        List<Element> tags = docFromXML.body().getAllElements();
-        List<String> wordTextLines = new ArrayList();
+            StringBuilder lineText = new StringBuilder();
+            boolean inTextTag = false;
                 
-        for (Element pTag : tags) {
-            if (!pTag.tagName().equals("w:p")) // Only get text from paragraph tags
-                continue;
+            try {
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            if (!wordNamespace.equals(reader.getNamespaceURI())) // Only pay attention to paragraphs, text tags and linebreaks
+                                break;
+                            
+                            if (reader.getLocalName().equals("t"))
+                                inTextTag = true;
+                            else if (reader.getLocalName().equals("br")) { // A linebreak represents the end of a single line (there may be multiple text tags per line)
+                                lineAction.accept(lineText.toString());
+                                lineText.setLength(0);
+                            } else if (reader.getLocalName().equals("p"))
+                                lineText.setLength(0);
+                            break;
                         
-            String lineText = "";
-            for (Element tag : pTag.getAllElements()) {
-                if (!tag.tagName().equals("w:t") && !tag.tagName().equals("w:br")) // Only pay attention to text tags and linebreaks
-                    continue;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                            if (inTextTag)
+                                lineText.append(reader.getText());
+                            break;
                         
-                // A linebreak represents the end of a single line (there may be multiple text tags per line)
-                if (tag.tagName().equals("w:br")) {
-                    wordTextLines.add(lineText);
-                    lineText = "";
-                } else
-                    lineText += tag.wholeText();
+                        case XMLStreamConstants.END_ELEMENT:
+                            if (!wordNamespace.equals(reader.getNamespaceURI()))
+                                break;
+                            
+                            if (reader.getLocalName().equals("t"))
+                                inTextTag = false;
+                            else if (reader.getLocalName().equals("p") && lineText.length() > 0) { // Last line of the paragraph tag
+                                lineAction.accept(lineText.toString());
+                                lineText.setLength(0);
+                            }
+                            break;
+                    }
+                }
+            } finally {
+                reader.close();
             }
-                    
-            // Add last line of the paragraph tag
-            if (!lineText.equals(""))
-                wordTextLines.add(lineText);
-        }
         
-        return wordTextLines;
+        } catch(IOException | XMLStreamException e) {
+                e.printStackTrace();
+        }
     }
     
     // Trims whitespace from both ends of a string (native java method for this does not work, somehow)
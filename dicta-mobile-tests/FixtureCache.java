@@ -0,0 +1,79 @@
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+// Class for reusing the state a test needs (eg the results page of a search), instead of building it from scratch every test
+// A state ('fixture') is kept by a key (eg the query + language + sidebar state). If the page is still in that state (nothing was clicked,
+//     typed or navigated since), it is used as is; otherwise the url the state was reached at is loaded directly
+public class FixtureCache
+{
+    private Browser browser; // Browser whose page states are being kept
+    private HashMap<String, String> fixtureUrls; // Urls that lead straight to a fixture, by key
+    private HashSet<String> unrestorable; // Fixtures whose url did not lead back to them (eg the site didn't put the search in the url)
+    private String currentFixture; // The fixture the page is in at the moment (null if unknown)
+    private long interactionsAtFixture; // The browser's interaction count when the page was put into the current fixture
+    
+    public FixtureCache(Browser browser) {
+        this.browser = browser;
+        this.fixtureUrls = new HashMap<String, String>();
+        this.unrestorable = new HashSet<String>();
+    }
+    
+    // Creates the key of a fixture
+    // (String...) parts: what the fixture is made of (eg query, language, sidebar state)
+    public static String Key(String... parts) {
+        return String.join("\u001F", parts);
+    }
+    
+    // Returns whether or not the page is in a fixture, and has not been touched since
+    // (String) fixture: the key of the fixture
+    public boolean IsCurrent(String fixture) {
+        return fixture.equals(this.currentFixture) && this.browser.GetInteractionCount() == this.interactionsAtFixture;
+    }
+    
+    // Puts the page back into a fixture, if possible. Returns whether or not it was (if not, the fixture has to be built from scratch)
+    // (String) fixture: the key of the fixture
+    // (BooleanSupplier) waitUntilReady: waits until the fixture's page has loaded (eg until the search results are shown)
+    public boolean Restore(String fixture, BooleanSupplier waitUntilReady) {
+        if (this.IsCurrent(fixture))
+            return true;
+        
+        String fixtureUrl = this.fixtureUrls.get(fixture);
+        if (fixtureUrl == null)
+            return false;
+        
+        this.browser.GoTo(fixtureUrl);
+        if (!waitUntilReady.getAsBoolean() || !this.browser.GetDriver().getCurrentUrl().equals(fixtureUrl)) {
+            System.out.println("Could not reuse the page of a previous test, building it again");
+            this.fixtureUrls.remove(fixture);
+            this.unrestorable.add(fixture);
+            this.currentFixture = null;
+            return false;
+        }
+        
+        this.MarkCurrent(fixture);
+        return true;
+    }
+    
+    // Remembers that the page was just put into a fixture (should be called once the fixture has been built)
+    // (String) fixture: the key of the fixture
+    // (String) startUrl: the url the fixture was built from (the fixture can only be restored by url if its url is different)
+    public void Store(String fixture, String startUrl) {
+        String fixtureUrl = this.browser.GetDriver().getCurrentUrl();
+        
+        if (!fixtureUrl.equals(startUrl) && !this.unrestorable.contains(fixture))
+            this.fixtureUrls.put(fixture, fixtureUrl);
+        
+        this.MarkCurrent(fixture);
+    }
+    
+    // Forgets which fixture the page is in (eg when the page was changed in a way the browser doesn't know about)
+    public void Invalidate() {
+        this.currentFixture = null;
+    }
+    
+    // Helper method for marking the page as being in a fixture, as of now
+    private void MarkCurrent(String fixture) {
+        this.currentFixture = fixture;
+        this.interactionsAtFixture = this.browser.GetInteractionCount();
+    }
+}
@@ -0,0 +1,106 @@
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.AbstractWebDriverEventListener;
+
+// A listener class for timing the WebDriver commands the browser sends (navigation, finding/clicking/typing into WebElements, scripts, etc)
+// NOTE: a browser is only used by one test at a time, so a single start time is enough (commands don't overlap)
+public class MetricsListener extends AbstractWebDriverEventListener
+{
+    private CommandMetrics metrics; // Where the timings are recorded
+    private long commandStart; // When the current command was sent (in nanoseconds)
+    
+    public MetricsListener(CommandMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    // Changes where the timings are recorded
+    public void SetMetrics(CommandMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    // Records how long the current command took
+    private void EndCommand(String category, String name) {
+        this.metrics.Record(category, name, System.nanoTime() - this.commandStart);
+    }
+    
+    public void beforeNavigateTo(String url, WebDriver driver) {
+        this.commandStart = System.nanoTime();
+    }
+    
+    public void afterNavigateTo(String url, WebDriver driver) {
+        this.EndCommand("navigation", "to " + url);
+    }
+    
+    public void beforeNavigateBack(WebDriver driver) {
+        this.commandStart = System.nanoTime();
+    }
+    
+    public void afterNavigateBack(WebDriver driver) {
+        this.EndCommand("navigation", "back");
+    }
+    
+    public void beforeNavigateForward(WebDriver driver) {
+        this.commandStart = System.nanoTime();
+    }
+    
+    public void afterNavigateForward(WebDriver driver) {
+        this.EndCommand("navigation", "forward");
+    }
+    
+    public void beforeNavigateRefresh(WebDriver driver) {
+        this.commandStart = System.nanoTime();
+    }
+    
+    public void afterNavigateRefresh(WebDriver driver) {
+        this.EndCommand("navigation", "refresh");
+    }
+    
+    public void beforeFindBy(By by, WebElement element, WebDriver driver) {
+        this.commandStart = System.nanoTime();
+    }
+    
+    public void afterFindBy(By by, WebElement element, WebDriver driver) {
+        this.EndCommand("command", "find " + by);
+    }
+    
+    public void beforeClickOn(WebElement element, WebDriver driver) {
+        this.commandStart = System.nanoTime();
+    }
+    
+    public void afterClickOn(WebElement element, WebDriver driver) {
+        this.EndCommand("command", "click");
+    }
+    
+    public void beforeChangeValueOf(WebElement element, WebDriver driver, CharSequence[] keysToSend) {
+        this.commandStart = System.nanoTime();
+    }
+    
+    public void afterChangeValueOf(WebElement element, WebDriver driver, CharSequence[] keysToSend) {
+        this.EndCommand("command", (keysToSend == null) ? "clear" : "send keys");
+    }
+    
+    public void beforeScript(String script, WebDriver driver) {
+        this.commandStart = System.nanoTime();
+    }
+    
+    public void afterScript(String script, WebDriver driver) {
+        this.EndCommand("command", "script");
+    }
+    
+    public void beforeSwitchToWindow(String windowName, WebDriver driver) {
+        this.commandStart = System.nanoTime();
+    }
+    
+    public void afterSwitchToWindow(String windowName, WebDriver driver) {
+        this.EndCommand("navigation", "switch window");
+    }
+    
+    public void beforeGetText(WebElement element, WebDriver driver) {
+        this.commandStart = System.nanoTime();
+    }
+    
+    public void afterGetText(WebElement element, WebDriver driver, String text) {
+        this.EndCommand("command", "get text");
+    }
+}
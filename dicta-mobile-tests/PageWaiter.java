@@ -0,0 +1,238 @@
+import org.openqa.selenium.*;
+import org.openqa.selenium.support.ui.BrowserConditions;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.FluentWait;
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Class for waiting until the focused page is actually ready (instead of sleeping for a fixed amount of time)
+// NOTE: waits on elements are done inside the page (BrowserConditions), which reports back as soon as the page changes - instead of
+//     asking the page over and over every 'pollTime'
+public class PageWaiter
+{
+    private WebDriver driver; // WebDriver started at the begining of the test(s)
+    private ElementsHandler eleHandler; // For turning definitions file tags into locators
+    private int waitTime = 15; // Maximum time to wait for a condition - 15 seconds
+    private int pollTime = 100; // How often to check a condition - 100 milliseconds
+    private int implicitWaitTime = BrowserDriver.implicitWaitTime; // Implicit wait set by the managers (suspended while waiting, otherwise every failed check takes that long)
+    private CommandMetrics metrics; // Where the time spent waiting is recorded
+
+    // Script for 'GetSnapshot': returns the html of a WebElement's parent (or the WebElement itself, if it has none), followed by whether each
+    //     of the checkboxes in it are checked
+    private static final String snapshotScript =
+        "var node = arguments[0].parentNode || arguments[0];" +
+        "var checks = Array.prototype.map.call(node.querySelectorAll('input'), function (input) { return input.checked ? '1' : '0'; });" +
+        "return node.outerHTML + '|' + checks.join('');";
+
+    public PageWaiter(WebDriver driver, ElementsHandler eleHandler) {
+        this.driver = driver;
+        this.eleHandler = eleHandler;
+        this.metrics = new CommandMetrics();
+    }
+    // Overloaded - for setting the maximum wait time
+    public PageWaiter(WebDriver driver, ElementsHandler eleHandler, int waitTime) {
+        this.driver = driver;
+        this.eleHandler = eleHandler;
+        this.waitTime = waitTime;
+        this.metrics = new CommandMetrics();
+    }
+
+    // Changes where the time spent waiting is recorded
+    public void SetMetrics(CommandMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // Waits until a condition is met, and returns its value (null if the condition was not met in time - the error is printed, same as ElementsHandler)
+    // (ExpectedCondition<T>) condition: the condition to wait for
+    public <T> T Until(ExpectedCondition<T> condition) {
+        return this.Until("condition", condition);
+    }
+    // Overloaded - records the time spent waiting under a name (eg the definitions tag waited for)
+    // (String) waitName: what is being waited for
+    public <T> T Until(String waitName, ExpectedCondition<T> condition) {
+        return this.metrics.Time("wait", waitName, () -> this.UntilHelper(condition));
+    }
+
+    // Helper method for 'Until'
+    private <T> T UntilHelper(ExpectedCondition<T> condition) {
+        FluentWait<WebDriver> wait = new FluentWait<WebDriver>(this.driver)
+            .withTimeout(Duration.ofSeconds(this.waitTime))
+            .pollingEvery(Duration.ofMillis(this.pollTime))
+            .ignoring(NoSuchElementException.class)
+            .ignoring(StaleElementReferenceException.class);
+
+        this.driver.manage().timeouts().implicitlyWait(0, TimeUnit.SECONDS);
+        try {
+            return wait.until(condition);
+        } catch (TimeoutException e) {
+            System.out.println(e.getMessage());
+            return null;
+        } finally {
+            this.driver.manage().timeouts().implicitlyWait(this.implicitWaitTime, TimeUnit.SECONDS);
+        }
+    }
+
+    // Waits until the page has finished loading (document.readyState is 'complete')
+    public boolean WaitForDocumentReady() {
+        return this.Until("document ready", driver -> ((JavascriptExecutor)driver).executeScript("return document.readyState;").equals("complete")) != null;
+    }
+
+    // Waits until the url of the page is different than it was
+    // (String) previousUrl: the url of the page before the action that is expected to change it
+    public boolean WaitForUrlChange(String previousUrl) {
+        return this.Until("url change", ExpectedConditions.not(ExpectedConditions.urlToBe(previousUrl))) != null;
+    }
+
+    // Waits until a page (ie tab) opened in the background has loaded (new pages start out blank, and only then go to their url)
+    // NOTE: the new page should already be switched to
+    public boolean WaitForNewPageLoaded() {
+        return this.WaitForUrlChange("about:blank") && this.WaitForDocumentReady();
+    }
+
+    // Waits until more pages (ie tabs) are open than there were (eg after clicking a link that opens a new tab)
+    // (int) pageCount: how many pages were open before the action that is expected to open a new one
+    public boolean WaitForNewPage(int pageCount) {
+        return this.Until("new page", ExpectedConditions.numberOfWindowsToBe(pageCount + 1)) != null;
+    }
+
+    // Waits until the page has been scrolled down from its top (eg after scrolling to the bottom)
+    public boolean WaitForScrolledDown() {
+        return this.Until("scrolled down", driver -> this.GetScrollOffset() > 0) != null;
+    }
+
+    // Waits until the page has been scrolled back to its top (eg after clicking a 'back to top' button, which scrolls smoothly)
+    public boolean WaitForScrolledToTop() {
+        return this.Until("scrolled to top", driver -> this.GetScrollOffset() == 0) != null;
+    }
+
+    // Returns how far down the page has been scrolled (in pixels)
+    private long GetScrollOffset() {
+        return ((Number)((JavascriptExecutor)this.driver).executeScript("return window.pageYOffset;")).longValue();
+    }
+
+    // Waits until at least one of the WebElements of a tag (from the definitions file) is visible
+    // (String) tagName: the name of the tag to wait for
+    public boolean WaitForVisibleByDef(String tagName) {
+        return this.Until("visible " + tagName, BrowserConditions.visibilityOfElementLocated(this.eleHandler.GetLocatorByDef(tagName), this.GetInPageWaitTime())) != null;
+    }
+
+    // Waits until there are at least a number of WebElements of a tag (from the definitions file), and they are visible (eg a list that
+    //     is filled a little at a time)
+    // (String) tagName: the name of the tag to wait for
+    // (int) count: how many WebElements there should be
+    public boolean WaitForCountByDef(String tagName, int count) {
+        return this.Until("count " + tagName, ExpectedConditions.numberOfElementsToBeMoreThan(this.eleHandler.GetLocatorByDef(tagName), count - 1)) != null
+            && this.WaitForVisibleByDef(tagName);
+    }
+
+    // Waits until one of several tags (from the definitions file) is visible - for pages that can end up in different states (eg results/no results)
+    // (String...) tagNames: the names of the tags to wait for
+    public boolean WaitForAnyVisibleByDef(String... tagNames) {
+        List<By> locators = new ArrayList<By>();
+        for (String tagName : tagNames)
+            locators.add(this.eleHandler.GetLocatorByDef(tagName));
+
+        return this.Until("any visible " + String.join("/", tagNames), BrowserConditions.visibilityOfAnyElementLocated(this.GetInPageWaitTime(), locators.toArray(new By[0]))) != null;
+    }
+
+    // Waits until none of the WebElements of a tag (from the definitions file) are visible (eg a sidebar that closed)
+    // (String) tagName: the name of the tag to wait for
+    public boolean WaitForInvisibleByDef(String tagName) {
+        return this.Until("invisible " + tagName, BrowserConditions.invisibilityOfElementLocated(this.eleHandler.GetLocatorByDef(tagName), this.GetInPageWaitTime())) != null;
+    }
+
+    // Returns the first WebElement on the page of one of several tags (from the definitions file), without waiting for it (null if there
+    //     is none) - eg to wait for it to go stale once the page is changed
+    // (String...) tagNames: the names of the tags to look for
+    public WebElement FindAnyByDef(String... tagNames) {
+        this.driver.manage().timeouts().implicitlyWait(0, TimeUnit.SECONDS);
+        try {
+            for (String tagName : tagNames) {
+                List<WebElement> elements = this.driver.findElements(this.eleHandler.GetLocatorByDef(tagName));
+                if (!elements.isEmpty())
+                    return elements.get(0);
+            }
+
+            return null;
+        } finally {
+            this.driver.manage().timeouts().implicitlyWait(this.implicitWaitTime, TimeUnit.SECONDS);
+        }
+    }
+
+    // Waits until a WebElement is no longer attached to the page (ie the part of the page holding it was rendered again)
+    // (WebElement) element: the element that is expected to be replaced
+    public boolean WaitForStaleness(WebElement element) {
+        return this.Until("staleness", BrowserConditions.stalenessOf(element, this.GetInPageWaitTime())) != null;
+    }
+
+    // Returns the current state of a WebElement (its html and its parent's, with whether their checkboxes are checked - that isn't part of
+    //     the html), to find out when clicking it has taken effect
+    // (WebElement) element: the element whose state is returned (eg a checkbox option in the sidebar)
+    public String GetSnapshot(WebElement element) {
+        return (String)((JavascriptExecutor)this.driver).executeScript(snapshotScript, element);
+    }
+
+    // Waits until a WebElement has changed (its state is different than it was, or it was replaced on the page)
+    // (WebElement) element: the element that is expected to change
+    // (String) snapshot: the state of the element before the action that is expected to change it (from 'GetSnapshot')
+    public boolean WaitForChange(WebElement element, String snapshot) {
+        return this.Until("change", driver -> {
+            try {
+                return !this.GetSnapshot(element).equals(snapshot);
+            } catch (StaleElementReferenceException e) {
+                return true;
+            }
+        }) != null;
+    }
+
+    // Returns how long a single wait inside the page may take (the whole wait, but kept under the drivers' default script timeout of 30
+    //     seconds - otherwise the wait falls back to polling)
+    private Duration GetInPageWaitTime() {
+        return Duration.ofSeconds(Math.min(this.waitTime, 25));
+    }
+
+    // Waits until a file with a particular extension has finished downloading, and returns it (null if it was not found in time)
+    // (String) downloadPath: the folder the browser downloads files to
+    // (String) extension: the extension of the downloaded file (eg '.docx')
+    // (long) startTime: when the download was started (System.currentTimeMillis) - files from before then are left alone
+    // NOTE: Chrome/Firefox first write to a temporary file ('.crdownload'/'.part'), and only rename it once the download is done
+    public File WaitForDownload(String downloadPath, String extension, long startTime) {
+        return this.metrics.Time("wait", "download " + extension, () -> this.WaitForDownloadHelper(downloadPath, extension, startTime));
+    }
+
+    // Helper method for 'WaitForDownload'
+    private File WaitForDownloadHelper(String downloadPath, String extension, long startTime) {
+        FluentWait<File> wait = new FluentWait<File>(new File(downloadPath))
+            .withTimeout(Duration.ofSeconds(this.waitTime))
+            .pollingEvery(Duration.ofMillis(this.pollTime));
+
+        try {
+            return wait.until(dir -> {
+                File[] dirContents = dir.listFiles();
+                if (dirContents == null)
+                    return null;
+
+                // Keep waiting while anything is still downloading, then take the newest file downloaded since the start
+                File newestFile = null;
+                for (File fileInDownloads : dirContents) {
+                    String fileName = fileInDownloads.getName();
+
+                    if (fileName.endsWith(".crdownload") || fileName.endsWith(".part"))
+                        return null;
+                    if (fileName.endsWith(extension) && fileInDownloads.length() > 0 && fileInDownloads.lastModified() >= startTime
+                        && (newestFile == null || fileInDownloads.lastModified() > newestFile.lastModified()))
+                        newestFile = fileInDownloads;
+                }
+
+                return newestFile;
+            });
+        } catch (TimeoutException e) {
+            System.out.println(String.format("Could not find downloaded file! (extension: '%s', Error: %s)", extension, e.getMessage()));
+            return null;
+        }
+    }
+}
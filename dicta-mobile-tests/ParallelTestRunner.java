@@ -0,0 +1,23 @@
+import org.junit.experimental.ParallelComputer;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+
+// Runs the mobile test suites with their tests spread over a pool of browsers (see SessionPool)
+// The amount of browsers per suite can be set with the 'tests.workers' system property (default: one per core)
+public class ParallelTestRunner
+{
+    public ParallelTestRunner() {
+    }
+    
+    public static void main(String[] args) {
+        // Suites are run one after another, the tests within each suite are run in parallel
+        Result result = JUnitCore.runClasses(new ParallelComputer(false, true),
+            BibleSearchMobileTests.class, TalmudSearchMobileTests.class, SimpleNakdanMobileTests.class);
+        
+        for (Failure failure : result.getFailures())
+            System.out.println(failure.toString());
+        
+        System.out.println(String.format("Ran %d test(s), %d failed (%d ms)", result.getRunCount(), result.getFailureCount(), result.getRunTime()));
+    }
+}
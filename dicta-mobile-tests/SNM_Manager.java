@@ -6,6 +6,7 @@ import java.util.concurrent.TimeUnit;
 import java.awt.HeadlessException;
 import java.awt.Toolkit;
 import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.StringSelection;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.nio.charset.StandardCharsets;
 import java.net.URLDecoder;
@@ -20,6 +21,7 @@ public class SNM_Manager
     private Browser snmBrowser; // Browser for the Simple Nakdan Mobile tests
     private DefsHandler xmlDefs; // Handles loading of elements from an xml file (contains xpath values)
     private HashSet<Tag> tags; // List of elements ('tags') loaded from said xml file (should be 'definitions.xml')
+    private String downloadPath; // Where the browser puts downloaded files
     
     public SNM_Manager() {
     }
@@ -28,6 +30,11 @@ public class SNM_Manager
     // (String) browserType: which browser to use ('chrome', 'firefox', or 'edge')
     // (String) langauge: which language to use ('heb' or 'eng')
     public void Setup(String browserType, String language) {
+        this.Setup(browserType, language, BrowserDriver.downloadPath);
+    }
+    // Overloaded - for setting the download folder (each worker gets their own when running tests in parallel)
+    // (String) downloadPath: where the browser will put downloaded files
+    public void Setup(String browserType, String language, String downloadPath) {
         System.out.println(String.format("Browser being tested: '%s'", browserType));
         
         String pageToLoad = "test_nakdan_simple_mobile";
@@ -35,15 +42,16 @@ public class SNM_Manager
         
         // Load definition file
         System.out.println("Loading definitions file");
-        this.xmlDefs = SAXLoader.LoadXMLFile("definitions.xml", pageToLoad, language);
+        this.xmlDefs = SAXLoader.LoadDefinitions("definitions.xml"); // Parsed once, and shared by every worker
         this.tags = this.xmlDefs.GetPageElements(pageToLoad, language);
         
         System.out.println(String.format("Loaded %d page(s)", xmlDefs.GetDefinitionData().size()));
         
         // Start web driver
-        BrowserDriver browserDriver = new BrowserDriver(browserType);
+        BrowserDriver browserDriver = new BrowserDriver(browserType, downloadPath);
         WebDriver driver = browserDriver.GetWebDriver();
-        driver.manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
+        this.downloadPath = browserDriver.GetDownloadPath();
+        driver.manage().timeouts().implicitlyWait(BrowserDriver.implicitWaitTime, TimeUnit.SECONDS);
         
         // Go to start page
         String testUrl = "https://nakdan.dicta.org.il/";
@@ -59,6 +67,11 @@ public class SNM_Manager
         return this.snmBrowser;
     }
     
+    // Gets the folder the browser puts downloaded files in
+    public String GetDownloadPath() {
+        return this.downloadPath;
+    }
+    
     // Gets the handler for the xml file's tags
     public DefsHandler GetDefs() {
         return this.xmlDefs;
@@ -91,20 +104,8 @@ public class SNM_Manager
         if (webElements == null)
             return "";
         
-        String textToGet = "";
-        int counter = 0;
-        
-        for (WebElement webElement : webElements) {            
-            textToGet += webElement.getText();
-            counter++;
-            
-            // Don't add a space if the text just added is the last word
-            if (counter < webElements.size()) {
-                textToGet += " ";
-            }
-        }
-        
-        return textToGet;
+        // All the texts are read in a single call to the browser
+        return String.join(" ", this.snmBrowser.GetTexts(webElements));
     }
     
     // Not written by me. Returns text copied to clipboard
@@ -125,6 +126,15 @@ public class SNM_Manager
         return "";
     }
     
+    // Empties the clipboard (so that 'WaitForClipboardText' can tell when text has been copied to it)
+    public void ClearClipboardText() {
+        try {
+            Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new StringSelection(""), null);
+        } catch (HeadlessException | IllegalStateException e) {
+            System.out.println(String.format("Could not clear the clipboard! (Error: %s)", e.getMessage()));
+        }
+    }
+    
     // Takes a url-encoded string, and returns it decoded (charset is utf-8). 'whatToRemove' is removed from the url first
     // (String) url: the url to decode
     // (String) toRemove: a string to remove from the url before decodingremoves the 
@@ -290,7 +300,7 @@ public class SNM_Manager
         String noPopupCheckboxXPath = this.xmlDefs.GetWebElementByName(this.tags, "nomore_popup_checkbox").GetXPath();
         WebElement element = this.snmBrowser.GetDriver().findElement(By.xpath(noPopupCheckboxXPath));
         
-        ((JavascriptExecutor)this.snmBrowser.GetDriver()).executeScript("arguments[0].click();", element);
+        this.snmBrowser.RunPageScript("arguments[0].click();", element);
     }
     
     public boolean DoesPopupPopup() {
@@ -385,7 +395,7 @@ public class SNM_Manager
         String eimKriahButtonXPath = this.xmlDefs.GetWebElementByName(this.tags, "eim_kriah_checkbox").GetXPath();
         WebElement element = this.snmBrowser.GetDriver().findElement(By.xpath(eimKriahButtonXPath));
         
-        ((JavascriptExecutor)this.snmBrowser.GetDriver()).executeScript("arguments[0].click();", element);
+        this.snmBrowser.RunPageScript("arguments[0].click();", element);
     }
     
     // Clicks the button that saves the changes made in the options menu
@@ -393,4 +403,31 @@ public class SNM_Manager
         this.snmBrowser.Elements().GetElementByDef("save_options").click();
     }
     
+    // Waiting (returns as soon as the page is ready, instead of sleeping)
+    
+    // Waits until the nikuded text has been rendered in the results' textarea
+    public boolean WaitForNikudResults() {
+        return this.snmBrowser.Waits().WaitForVisibleByDef("textarea_texts");
+    }
+    
+    // Waits until the 'enter text here' page is ready for text
+    public boolean WaitForTextAreaInsert() {
+        return this.snmBrowser.Waits().WaitForDocumentReady() && this.snmBrowser.Waits().WaitForVisibleByDef("textarea_insert");
+    }
+    
+    // Waits until the nikud edit menu of a clicked word has opened, with its alternative nikud choices
+    public boolean WaitForWordOptions() {
+        return this.snmBrowser.Waits().WaitForVisibleByDef("word_option_list");
+    }
+    
+    // Waits until the nikud edit menu has closed after saving a change to a word
+    public boolean WaitForWordOptionSaved() {
+        return this.snmBrowser.Waits().WaitForInvisibleByDef("apply_word_option");
+    }
+    
+    // Waits until text has been copied to the clipboard (which should be emptied first, with 'ClearClipboardText')
+    public boolean WaitForClipboardText() {
+        return this.snmBrowser.Waits().Until("clipboard text", driver -> !this.GetClipboardText().isEmpty()) != null;
+    }
+    
 }
@@ -0,0 +1,107 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JsonInput} reading the responses to find elements and get page source commands,
+ * using its streaming methods only, so that no type coercion is involved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonInputBenchmark {
+
+  private static final Json JSON = new Json();
+
+  @State(Scope.Benchmark)
+  public static class FindElementsResponse {
+
+    @Param({"20", "500"})
+    public int elementCount;
+
+    private String content;
+
+    @Setup
+    public void create() {
+      content = JsonPayloads.findElementsResponse(elementCount);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class PageSourceResponse {
+
+    @Param({"100000", "2000000"})
+    public int length;
+
+    private String content;
+
+    @Setup
+    public void create() {
+      content = JsonPayloads.pageSourceResponse(length);
+    }
+  }
+
+  @Benchmark
+  public List<String> findElements(FindElementsResponse response) {
+    List<String> ids = new ArrayList<>(response.elementCount);
+    try (JsonInput input = JSON.newInput(new StringReader(response.content))) {
+      input.beginObject();
+      input.nextName();
+      input.beginArray();
+      while (input.hasNext()) {
+        input.beginObject();
+        input.nextName();
+        ids.add(input.nextString());
+        input.endObject();
+      }
+      input.endArray();
+      input.endObject();
+    }
+    return ids;
+  }
+
+  @Benchmark
+  public String pageSource(PageSourceResponse response) {
+    try (JsonInput input = JSON.newInput(new StringReader(response.content))) {
+      input.beginObject();
+      input.nextName();
+      String source = input.nextString();
+      input.endObject();
+      return source;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JsonOutput} writing nested maps, both pretty printed (its default) and compact.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonOutputBenchmark {
+
+  @Param({"2", "4"})
+  public int depth;
+
+  private final Json json = new Json();
+  private Map<String, Object> nested;
+
+  @Setup
+  public void createMap() {
+    nested = JsonPayloads.nestedMap(depth, 5);
+  }
+
+  @Benchmark
+  public String prettyPrinted() {
+    StringBuilder written = new StringBuilder();
+    try (JsonOutput output = json.newOutput(written)) {
+      output.write(nested);
+    }
+    return written.toString();
+  }
+
+  @Benchmark
+  public String compact() {
+    StringBuilder written = new StringBuilder();
+    try (JsonOutput output = json.newOutput(written).setPrettyPrint(false)) {
+      output.write(nested);
+    }
+    return written.toString();
+  }
+}
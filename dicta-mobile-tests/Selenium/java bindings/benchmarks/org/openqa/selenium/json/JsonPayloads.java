@@ -0,0 +1,190 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.json;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Payloads shaped like the ones that pass through the json package while a test runs: command
+ * parameters going to the driver, and the responses it sends back.
+ */
+final class JsonPayloads {
+
+  static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+
+  private JsonPayloads() {
+    // Utility class
+  }
+
+  /**
+   * @return The parameters of a find elements command.
+   */
+  static Map<String, Object> findElementsParameters() {
+    return ImmutableMap.of("using", "css selector", "value", "#searchResults .result-text");
+  }
+
+  /**
+   * @return The parameters of a send keys command.
+   */
+  static Map<String, Object> sendKeysParameters() {
+    String text = "בראשית ברא אלהים";
+    List<String> keys = new ArrayList<>();
+    text.codePoints().forEach(c -> keys.add(new String(Character.toChars(c))));
+    return ImmutableMap.of("text", text, "value", keys);
+  }
+
+  /**
+   * @return The parameters of an execute script command, with an element among its arguments.
+   */
+  static Map<String, Object> executeScriptParameters() {
+    return ImmutableMap.of(
+        "script", "return arguments[0].scrollIntoView(true);",
+        "args", ImmutableList.of(ImmutableMap.of(ELEMENT_KEY, UUID.randomUUID().toString())));
+  }
+
+  /**
+   * @return The parameters of a new session command: capabilities nested a few levels deep.
+   */
+  static Map<String, Object> newSessionParameters() {
+    Map<String, Object> chromeOptions = ImmutableMap.of(
+        "args", ImmutableList.of("--headless", "--disable-gpu", "--window-size=412,732"),
+        "mobileEmulation", ImmutableMap.of("deviceName", "Nexus 5"),
+        "prefs", ImmutableMap.of(
+            "download.default_directory", "/tmp/downloads",
+            "download.prompt_for_download", false,
+            "profile.default_content_settings.popups", 0));
+    Map<String, Object> capabilities = ImmutableMap.of(
+        "browserName", "chrome",
+        "platformName", "linux",
+        "acceptInsecureCerts", true,
+        "timeouts", ImmutableMap.of("implicit", 10000, "pageLoad", 300000, "script", 30000),
+        "goog:chromeOptions", chromeOptions);
+    return ImmutableMap.of(
+        "desiredCapabilities", capabilities,
+        "capabilities", ImmutableMap.of(
+            "firstMatch", ImmutableList.of(capabilities),
+            "alwaysMatch", ImmutableMap.of()));
+  }
+
+  /**
+   * @param depth How many levels the map is nested.
+   * @param width How many entries there are on each level.
+   * @return A map of maps, whose leaves are a mix of strings, numbers, booleans and lists.
+   */
+  static Map<String, Object> nestedMap(int depth, int width) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 0; i < width; i++) {
+      if (depth > 1) {
+        map.put("map" + i, nestedMap(depth - 1, width));
+      } else {
+        map.put("string" + i, "value \"" + i + "\"\n");
+        map.put("number" + i, i * 1.5);
+        map.put("boolean" + i, i % 2 == 0);
+        map.put("list" + i, ImmutableList.of(i, "item", false));
+      }
+    }
+    return map;
+  }
+
+  /**
+   * @param count How many elements were found.
+   * @return The references to the elements, as a driver returns them.
+   */
+  static List<Map<String, Object>> foundElements(int count) {
+    List<Map<String, Object>> elements = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      elements.add(ImmutableMap.of(ELEMENT_KEY, UUID.randomUUID().toString()));
+    }
+    return elements;
+  }
+
+  /**
+   * @param count How many elements were found.
+   * @return A W3C response to a find elements command.
+   */
+  static String findElementsResponse(int count) {
+    return compact(ImmutableMap.of("value", foundElements(count)));
+  }
+
+  /**
+   * @param length The length of the page source, in characters.
+   * @return A W3C response to a get page source command.
+   */
+  static String pageSourceResponse(int length) {
+    String row = "<div class=\"result\" dir=\"rtl\"><span>בראשית ברא אלהים</span>"
+        + "<a href=\"https://www.sefaria.org/Genesis.1.1\">\tלספריא</a></div>\n";
+    StringBuilder source = new StringBuilder("<html><head><title>Dicta</title></head><body>\n");
+    while (source.length() < length) {
+      source.append(row);
+    }
+    source.append("</body></html>");
+    return compact(ImmutableMap.of("value", source.toString()));
+  }
+
+  /**
+   * @return A JSON wire protocol response to a new session command.
+   */
+  static String newSessionResponse() {
+    return compact(ImmutableMap.of(
+        "sessionId", UUID.randomUUID().toString(),
+        "status", 0,
+        "value", capabilitiesMap()));
+  }
+
+  /**
+   * @return The capabilities a driver returns for a new session.
+   */
+  static Map<String, Object> capabilitiesMap() {
+    Map<String, Object> capabilities = new LinkedHashMap<>();
+    capabilities.put("acceptInsecureCerts", false);
+    capabilities.put("browserName", "chrome");
+    capabilities.put("browserVersion", "79.0.3945.88");
+    capabilities.put("chrome", ImmutableMap.of(
+        "chromedriverVersion", "79.0.3945.36",
+        "userDataDir", "/tmp/.com.google.Chrome.pbGPeS"));
+    capabilities.put("goog:chromeOptions", ImmutableMap.of("debuggerAddress", "localhost:38261"));
+    capabilities.put("networkConnectionEnabled", false);
+    capabilities.put("pageLoadStrategy", "normal");
+    capabilities.put("platformName", "linux");
+    capabilities.put("proxy", ImmutableMap.of());
+    capabilities.put("setWindowRect", true);
+    capabilities.put("strictFileInteractability", false);
+    capabilities.put("timeouts", ImmutableMap.of("implicit", 0, "pageLoad", 300000, "script", 30000));
+    capabilities.put("unhandledPromptBehavior", "dismiss and notify");
+    return capabilities;
+  }
+
+  /**
+   * @param value The value to write.
+   * @return The value as JSON on a single line, the way drivers send it.
+   */
+  static String compact(Object value) {
+    StringBuilder json = new StringBuilder();
+    try (JsonOutput output = new Json().newOutput(json).setPrettyPrint(false)) {
+      output.write(value);
+    }
+    return json.toString();
+  }
+}
@@ -0,0 +1,69 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Json#toJson(Object)} on the parameters of commands sent to a driver.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonToJsonBenchmark {
+
+  private final Json json = new Json();
+  private final Map<String, Object> findElements = JsonPayloads.findElementsParameters();
+  private final Map<String, Object> sendKeys = JsonPayloads.sendKeysParameters();
+  private final Map<String, Object> executeScript = JsonPayloads.executeScriptParameters();
+  private final Map<String, Object> newSession = JsonPayloads.newSessionParameters();
+
+  @Benchmark
+  public String findElements() {
+    return json.toJson(findElements);
+  }
+
+  @Benchmark
+  public String sendKeys() {
+    return json.toJson(sendKeys);
+  }
+
+  @Benchmark
+  public String executeScript() {
+    return json.toJson(executeScript);
+  }
+
+  @Benchmark
+  public String newSession() {
+    return json.toJson(newSession);
+  }
+}
@@ -0,0 +1,84 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.json;
+
+import static org.openqa.selenium.json.Json.LIST_OF_MAPS_TYPE;
+import static org.openqa.selenium.json.Json.MAP_TYPE;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.remote.Response;
+
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JsonTypeCoercer#coerce(JsonInput, Type, PropertySetting)} for the types that
+ * responses are read into. Each coercer is created once, as {@link Json} does, so the coercion
+ * functions it builds for each type are reused.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonTypeCoercerBenchmark {
+
+  private final JsonTypeCoercer coercer = new JsonTypeCoercer();
+  private final String capabilities = JsonPayloads.compact(JsonPayloads.capabilitiesMap());
+  private final String elements = JsonPayloads.compact(JsonPayloads.foundElements(100));
+  private final String newSessionResponse = JsonPayloads.newSessionResponse();
+
+  @Benchmark
+  public Map<String, Object> map() {
+    return coerce(capabilities, MAP_TYPE);
+  }
+
+  @Benchmark
+  public List<Map<String, Object>> list() {
+    return coerce(elements, LIST_OF_MAPS_TYPE);
+  }
+
+  @Benchmark
+  public Capabilities capabilities() {
+    return coerce(capabilities, Capabilities.class);
+  }
+
+  @Benchmark
+  public Response response() {
+    return coerce(newSessionResponse, Response.class);
+  }
+
+  private <T> T coerce(String source, Type type) {
+    try (JsonInput input = new JsonInput(new StringReader(source), coercer, PropertySetting.BY_NAME)) {
+      return coercer.coerce(input, type, PropertySetting.BY_NAME);
+    }
+  }
+}
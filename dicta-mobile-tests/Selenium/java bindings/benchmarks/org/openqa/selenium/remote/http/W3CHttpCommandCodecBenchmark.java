@@ -0,0 +1,112 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.http;
+
+import static org.openqa.selenium.remote.DriverCommand.FIND_CHILD_ELEMENT;
+import static org.openqa.selenium.remote.DriverCommand.FIND_ELEMENT;
+import static org.openqa.selenium.remote.DriverCommand.FIND_ELEMENTS;
+import static org.openqa.selenium.remote.DriverCommand.GET_CURRENT_URL;
+import static org.openqa.selenium.remote.DriverCommand.GET_ELEMENT_ATTRIBUTE;
+import static org.openqa.selenium.remote.DriverCommand.GET_ELEMENT_TEXT;
+import static org.openqa.selenium.remote.DriverCommand.IS_ELEMENT_DISPLAYED;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link W3CHttpCommandCodec#encode(Command)}, one command at a time, for the commands a
+ * test sends most: finding elements (by locators that are escaped into CSS selectors, and by CSS
+ * selectors that are used as they are), reading from elements, and commands with no parameters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class W3CHttpCommandCodecBenchmark {
+
+  private final W3CHttpCommandCodec codec = new W3CHttpCommandCodec();
+  private final SessionId sessionId = new SessionId(UUID.randomUUID());
+  private final String elementId = UUID.randomUUID().toString();
+
+  private final Command getCurrentUrl = new Command(sessionId, GET_CURRENT_URL);
+  private final Command findElementById = new Command(
+      sessionId, FIND_ELEMENT, ImmutableMap.of("using", "id", "value", "search-input"));
+  private final Command findElementsByClassName = new Command(
+      sessionId, FIND_ELEMENTS, ImmutableMap.of("using", "class name", "value", "result-text"));
+  private final Command findChildElementByCssSelector = new Command(
+      sessionId,
+      FIND_CHILD_ELEMENT,
+      ImmutableMap.of("id", elementId, "using", "css selector", "value", "span.word[data-index]"));
+  private final Command getElementText = new Command(
+      sessionId, GET_ELEMENT_TEXT, ImmutableMap.of("id", elementId));
+  private final Command getElementAttribute = new Command(
+      sessionId, GET_ELEMENT_ATTRIBUTE, ImmutableMap.of("id", elementId, "name", "href"));
+  private final Command isElementDisplayed = new Command(
+      sessionId, IS_ELEMENT_DISPLAYED, ImmutableMap.of("id", elementId));
+
+  @Benchmark
+  public HttpRequest getCurrentUrl() {
+    return codec.encode(getCurrentUrl);
+  }
+
+  @Benchmark
+  public HttpRequest findElementById() {
+    return codec.encode(findElementById);
+  }
+
+  @Benchmark
+  public HttpRequest findElementsByClassName() {
+    return codec.encode(findElementsByClassName);
+  }
+
+  @Benchmark
+  public HttpRequest findChildElementByCssSelector() {
+    return codec.encode(findChildElementByCssSelector);
+  }
+
+  @Benchmark
+  public HttpRequest getElementText() {
+    return codec.encode(getElementText);
+  }
+
+  @Benchmark
+  public HttpRequest getElementAttribute() {
+    return codec.encode(getElementAttribute);
+  }
+
+  @Benchmark
+  public HttpRequest isElementDisplayed() {
+    return codec.encode(isElementDisplayed);
+  }
+}
@@ -0,0 +1,142 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.openqa.selenium;
+
+import org.openqa.selenium.io.Base64DecodingWriter;
+
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Objects;
+
+/**
+ * An output type that writes the screenshot to a destination as it is received, rather than
+ * decoding all of it into memory first. Drivers that can stream the screenshot do so through
+ * {@link #openBase64Writer()}; others convert the screenshot as with any other output type.
+ *
+ * @param <T> Type for the screenshot output.
+ */
+public abstract class StreamingOutputType<T> implements OutputType<T> {
+
+  /**
+   * Write the screenshot to the given file (creating or replacing it).
+   *
+   * @param file the file to write the png to.
+   * @return an output type that returns the file once it has been written.
+   */
+  public static StreamingOutputType<File> toFile(File file) {
+    Objects.requireNonNull(file, "File to write the screenshot to must be set");
+
+    return new StreamingOutputType<File>() {
+      @Override
+      protected OutputStream openStream() throws IOException {
+        return Files.newOutputStream(file.toPath());
+      }
+
+      @Override
+      public File getResult() {
+        return file;
+      }
+
+      public String toString() {
+        return "StreamingOutputType.toFile(" + file + ")";
+      }
+    };
+  }
+
+  /**
+   * Write the screenshot to the given stream. The stream is not closed once the screenshot has
+   * been written.
+   *
+   * @param stream the stream to write the png to.
+   * @return an output type that returns the stream once the screenshot has been written to it.
+   */
+  public static StreamingOutputType<OutputStream> toStream(OutputStream stream) {
+    Objects.requireNonNull(stream, "Stream to write the screenshot to must be set");
+
+    return new StreamingOutputType<OutputStream>() {
+      @Override
+      protected OutputStream openStream() {
+        return new FilterOutputStream(stream) {
+          @Override
+          public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+          }
+
+          @Override
+          public void close() throws IOException {
+            flush();
+          }
+        };
+      }
+
+      @Override
+      public OutputStream getResult() {
+        return stream;
+      }
+
+      public String toString() {
+        return "StreamingOutputType.toStream(" + stream + ")";
+      }
+    };
+  }
+
+  /**
+   * @return the stream the decoded png is written to. Closed once all of it has been written.
+   */
+  protected abstract OutputStream openStream() throws IOException;
+
+  /**
+   * @return the result of the screenshot, once the png has been written.
+   */
+  public abstract T getResult();
+
+  /**
+   * Opens a writer that decodes the base64 encoded png written to it into the destination. Closing
+   * the writer completes the screenshot, after which {@link #getResult()} returns the result.
+   *
+   * @return a writer for the base64 encoded png.
+   */
+  public Writer openBase64Writer() {
+    try {
+      return new Base64DecodingWriter(openStream());
+    } catch (IOException e) {
+      throw new WebDriverException(e);
+    }
+  }
+
+  public T convertFromBase64Png(String base64Png) {
+    try (Writer writer = openBase64Writer()) {
+      writer.write(base64Png);
+    } catch (IOException e) {
+      throw new WebDriverException(e);
+    }
+    return getResult();
+  }
+
+  public T convertFromPngBytes(byte[] png) {
+    try (OutputStream stream = openStream()) {
+      stream.write(png);
+    } catch (IOException e) {
+      throw new WebDriverException(e);
+    }
+    return getResult();
+  }
+}
@@ -82,6 +82,11 @@ public class ChromeDriverService extends DriverService {
     super(executable, port, args, environment);
   }
 
+  @Override
+  protected String getStartedMessage() {
+    return "ChromeDriver was started successfully";
+  }
+
   /**
    * Configures and returns a new {@link ChromeDriverService} using the default configuration. In
    * this configuration, the service will use the chromedriver executable identified by the
@@ -94,6 +94,12 @@ public class FirefoxDriver extends RemoteWebDriver implements WebStorage, HasExt
      * overrides any capabilities specified by the user
      */
     public static final String DRIVER_USE_MARIONETTE = "webdriver.firefox.marionette";
+
+    /**
+     * Boolean system property that turns off the reuse of laid out and encoded profiles between
+     * sessions started with identical profiles. The profile cache is on by default.
+     */
+    public static final String PROFILE_CACHE = "webdriver.firefox.profile.cache";
   }
 
   public static final String BINARY = "firefox_binary";
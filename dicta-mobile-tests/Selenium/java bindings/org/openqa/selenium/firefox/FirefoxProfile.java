@@ -17,7 +17,12 @@
 
 package org.openqa.selenium.firefox;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.common.io.Resources;
 
 import org.openqa.selenium.Beta;
@@ -39,6 +44,7 @@ import java.io.StringReader;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 
 public class FirefoxProfile {
@@ -50,6 +56,8 @@ public class FirefoxProfile {
   private Preferences additionalPrefs;
 
   private Map<String, Extension> extensions = new HashMap<>();
+  // Where each extension was added from (a File, or a classpath resource), for the profile cache
+  private Map<String, Object> extensionSources = new HashMap<>();
   private boolean loadNoFocusLib;
   private boolean acceptUntrustedCerts;
   private boolean untrustedCertIssuer;
@@ -188,6 +196,8 @@ public class FirefoxProfile {
     }
 
     addExtension(loadFrom, new ClasspathExtension(loadResourcesUsing, loadFrom));
+    extensionSources.put(
+        deriveExtensionName(loadFrom), loadResourcesUsing.getName() + "!" + loadFrom);
   }
 
   /**
@@ -197,11 +207,13 @@ public class FirefoxProfile {
    */
   public void addExtension(File extensionToInstall) {
     addExtension(extensionToInstall.getName(), new FileExtension(extensionToInstall));
+    extensionSources.put(deriveExtensionName(extensionToInstall.getName()), extensionToInstall);
   }
 
   public void addExtension(String key, Extension extension) {
     String name = deriveExtensionName(key);
     extensions.put(name, extension);
+    extensionSources.remove(name);
   }
 
   private String deriveExtensionName(String originalName) {
@@ -357,6 +369,12 @@ public class FirefoxProfile {
   }
 
   public String toJson() throws IOException {
+    HashCode key = cacheKey();
+    if (key != null) {
+      ProfileCache cache = ProfileCache.getDefault();
+      return cache.getEncoded(key, () -> Zip.zip(cache.getLayout(key, this::writeProfile)));
+    }
+
     File file = layoutOnDisk();
     try {
       return Zip.zip(file);
@@ -391,25 +409,73 @@ public class FirefoxProfile {
    * This method should be called immediately before starting to use the profile and should only be
    * called once per instance of the {@link org.openqa.selenium.firefox.FirefoxDriver}.
    *
+   * Identical profiles are only laid out once per JVM: later calls get a copy of the first
+   * directory (see {@link FirefoxDriver.SystemProperty#PROFILE_CACHE}).
+   *
    * @return The directory containing the profile.
    */
   public File layoutOnDisk() {
     try {
+      HashCode key = cacheKey();
+      if (key == null) {
+        return writeProfile();
+      }
+
+      File layout = ProfileCache.getDefault().getLayout(key, this::writeProfile);
       File profileDir = TemporaryFilesystem.getDefaultTmpFS()
           .createTempDir("anonymous", "webdriver-profile");
-      File userPrefs = new File(profileDir, "user.js");
-
-      copyModel(model, profileDir);
-      installExtensions(profileDir);
-      deleteLockFiles(profileDir);
-      deleteExtensionsCacheIfItExists(profileDir);
-      updateUserPrefs(userPrefs);
+      FileHandler.copy(layout, profileDir);
       return profileDir;
     } catch (IOException e) {
       throw new UnableToCreateProfileException(e);
     }
   }
 
+  private File writeProfile() throws IOException {
+    File profileDir = TemporaryFilesystem.getDefaultTmpFS()
+        .createTempDir("anonymous", "webdriver-profile");
+    File userPrefs = new File(profileDir, "user.js");
+
+    copyModel(model, profileDir);
+    installExtensions(profileDir);
+    deleteLockFiles(profileDir);
+    deleteExtensionsCacheIfItExists(profileDir);
+    updateUserPrefs(userPrefs);
+    return profileDir;
+  }
+
+  /**
+   * @return A hash of everything that goes into laying out this profile, or null if the profile
+   *     should not be cached (the cache is turned off, this is a subclass that may lay itself out
+   *     differently, or an extension was added whose source is not known).
+   */
+  private HashCode cacheKey() throws IOException {
+    if (getClass() != FirefoxProfile.class
+        || !ProfileCache.isEnabled()
+        || !extensionSources.keySet().equals(extensions.keySet())) {
+      return null;
+    }
+
+    Hasher hasher = Hashing.sha256().newHasher();
+    additionalPrefs.putInto(hasher);
+    hasher.putBoolean(acceptUntrustedCerts).putBoolean(untrustedCertIssuer);
+
+    for (Map.Entry<String, Object> source : new TreeMap<>(extensionSources).entrySet()) {
+      hasher.putString(source.getKey(), UTF_8).putByte((byte) 0);
+      if (source.getValue() instanceof File) {
+        ProfileCache.putFile(hasher, (File) source.getValue());
+      } else {
+        hasher.putString(String.valueOf(source.getValue()), UTF_8).putByte((byte) 0);
+      }
+    }
+
+    hasher.putBoolean(model != null);
+    if (model != null) {
+      ProfileCache.putFile(hasher, model);
+    }
+    return hasher.hash();
+  }
+
   protected void copyModel(File sourceDir, File profileDir) throws IOException {
     if (sourceDir == null || !sourceDir.exists()) {
       return;
@@ -19,9 +19,11 @@ package org.openqa.selenium.firefox;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.openqa.selenium.json.Json.MAP_TYPE;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
 import com.google.common.io.CharStreams;
 import com.google.common.io.Closeables;
 import com.google.common.io.LineReader;
@@ -36,6 +38,7 @@ import java.io.Reader;
 import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -178,6 +181,17 @@ class Preferences {
     }
   }
 
+  /**
+   * Feeds every preference into the given hasher, in key order, so that the same preferences hash
+   * the same way however they were set.
+   */
+  void putInto(Hasher hasher) {
+    for (Map.Entry<String, Object> pref : new TreeMap<>(allPrefs).entrySet()) {
+      hasher.putString(pref.getKey(), UTF_8).putByte((byte) 0);
+      hasher.putString(valueAsPreference(pref.getValue()), UTF_8).putByte((byte) 0);
+    }
+  }
+
   private String valueAsPreference(Object value) {
     if (value instanceof String) {
       return "\"" + escapeValueAsPreference((String) value) + "\"";
@@ -0,0 +1,123 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.openqa.selenium.firefox;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.openqa.selenium.WebDriverException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the laid out directories and encoded forms of {@link FirefoxProfile}s, keyed by a hash of
+ * everything that goes into a profile, so that starting several sessions with identical profiles
+ * only writes and zips the profile once.
+ * <p>
+ * Laid out profiles are kept for the life of the JVM (they live in the default temporary
+ * filesystem), and are copied for each session that needs a profile directory. Encoded profiles
+ * are kept in memory, for the most recently used profiles only.
+ */
+class ProfileCache {
+
+  private static final int MAX_ENCODED_PROFILES = 16;
+
+  private static final ProfileCache DEFAULT = new ProfileCache();
+
+  private final Cache<HashCode, File> layouts = CacheBuilder.newBuilder().build();
+  private final Cache<HashCode, String> encoded =
+      CacheBuilder.newBuilder().maximumSize(MAX_ENCODED_PROFILES).build();
+
+  static ProfileCache getDefault() {
+    return DEFAULT;
+  }
+
+  static boolean isEnabled() {
+    return Boolean.parseBoolean(
+        System.getProperty(FirefoxDriver.SystemProperty.PROFILE_CACHE, "true"));
+  }
+
+  /**
+   * Feeds the path, size and modification time of a file, or of every file under a directory, into
+   * the given hasher. The contents are not read, so that hashing a large model profile costs no
+   * more than listing it.
+   */
+  static void putFile(Hasher hasher, File file) throws IOException {
+    hasher.putString(file.getAbsolutePath(), UTF_8).putByte((byte) 0);
+    if (!file.exists()) {
+      return;
+    }
+
+    Path root = file.toPath();
+    try (Stream<Path> paths = Files.walk(root).sorted()) {
+      Iterator<Path> iterator = paths.iterator();
+      while (iterator.hasNext()) {
+        Path path = iterator.next();
+        hasher.putString(root.relativize(path).toString(), UTF_8).putByte((byte) 0);
+        hasher.putLong(Files.size(path));
+        hasher.putLong(Files.getLastModifiedTime(path).toMillis());
+      }
+    }
+  }
+
+  /**
+   * @return A directory holding the profile with the given key, laid out by {@code layout} the
+   *     first time it is asked for. The directory is shared, and must be copied before use.
+   */
+  File getLayout(HashCode key, Callable<File> layout) throws IOException {
+    File cached = layouts.getIfPresent(key);
+    if (cached != null && !cached.isDirectory()) {
+      // Someone cleaned up the temporary filesystem
+      layouts.invalidate(key);
+    }
+    return get(layouts, key, layout);
+  }
+
+  /**
+   * @return The zipped and encoded profile with the given key, produced by {@code encode} the first
+   *     time it is asked for.
+   */
+  String getEncoded(HashCode key, Callable<String> encode) throws IOException {
+    return get(encoded, key, encode);
+  }
+
+  private static <V> V get(Cache<HashCode, V> cache, HashCode key, Callable<V> loader)
+      throws IOException {
+    try {
+      return cache.get(key, loader);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new WebDriverException(e.getCause());
+    }
+  }
+}
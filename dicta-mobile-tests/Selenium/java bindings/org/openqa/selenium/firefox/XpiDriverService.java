@@ -120,6 +120,7 @@ public class XpiDriverService extends DriverService {
   public void start() throws IOException {
     lock.lock();
     try {
+      reservePort();
       profile.setPreference(PORT_PREFERENCE, port);
       addWebDriverExtension(profile);
       profileDir = profile.layoutOnDisk();
@@ -257,6 +258,7 @@ public class XpiDriverService extends DriverService {
       }
       profile.cleanTemporaryModel();
       profile.clean(profileDir);
+      releasePort();
     } finally {
       lock.unlock();
     }
@@ -0,0 +1,137 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.openqa.selenium.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * A {@link Writer} that decodes the base64 text written to it, and writes the decoded bytes to an
+ * {@link OutputStream}. Only a small, fixed amount of text is held at a time, so it can be used to
+ * decode very large values (such as screenshots) without holding them in memory. As with
+ * {@link Base64#getMimeDecoder()}, characters outside of the base64 alphabet are ignored.
+ */
+public class Base64DecodingWriter extends Writer {
+
+  private static final Base64.Decoder DECODER = Base64.getMimeDecoder();
+  // Must be a multiple of 4, so that every full buffer decodes on its own
+  private static final int BUFFER_SIZE = 8192;
+
+  private final OutputStream out;
+  private final byte[] encoded = new byte[BUFFER_SIZE];
+  private final byte[] decoded = new byte[BUFFER_SIZE / 4 * 3];
+  private int count;
+  private boolean closed;
+
+  public Base64DecodingWriter(OutputStream out) {
+    this.out = out;
+  }
+
+  @Override
+  public void write(int c) throws IOException {
+    if (closed) {
+      throw new IOException("Writer has been closed");
+    }
+
+    if (!isBase64(c)) {
+      return;
+    }
+
+    encoded[count++] = (byte) c;
+    if (count == encoded.length) {
+      decodeBuffer();
+    }
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    for (int i = off; i < off + len; i++) {
+      write(cbuf[i]);
+    }
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    for (int i = off; i < off + len; i++) {
+      write(str.charAt(i));
+    }
+  }
+
+  /**
+   * Decodes and flushes everything written so far, other than a trailing partial group of four
+   * characters (which can only be decoded once the rest of it has been written).
+   */
+  @Override
+  public void flush() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    int whole = count - count % 4;
+    if (whole > 0) {
+      try {
+        int length = DECODER.decode(Arrays.copyOf(encoded, whole), decoded);
+        out.write(decoded, 0, length);
+      } catch (IllegalArgumentException e) {
+        throw new IOException("Unable to decode base64 content", e);
+      }
+      System.arraycopy(encoded, whole, encoded, 0, count - whole);
+      count -= whole;
+    }
+    out.flush();
+  }
+
+  /**
+   * Decodes what is left (which may be padded, or a final partial group) and closes the underlying
+   * stream.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+
+    try {
+      if (count > 0) {
+        out.write(DECODER.decode(Arrays.copyOf(encoded, count)));
+      }
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Unable to decode base64 content", e);
+    } finally {
+      out.close();
+    }
+  }
+
+  private void decodeBuffer() throws IOException {
+    try {
+      int length = DECODER.decode(encoded, decoded);
+      out.write(decoded, 0, length);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Unable to decode base64 content", e);
+    }
+    count = 0;
+  }
+
+  private static boolean isBase64(int c) {
+    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+           || c == '+' || c == '/' || c == '=';
+  }
+}
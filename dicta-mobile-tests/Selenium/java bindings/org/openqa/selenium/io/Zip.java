@@ -18,14 +18,16 @@
 package org.openqa.selenium.io;
 
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.CharBuffer;
 import java.util.Base64;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -35,15 +37,42 @@ public class Zip {
   private static final int BUF_SIZE = 16384; // "big"
 
   public static String zip(File input) throws IOException {
-    try (ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
-      try (ZipOutputStream zos = new ZipOutputStream(bos)) {
+    StringBuilder base64 = new StringBuilder();
+    zip(input, base64);
+    return base64.toString();
+  }
+
+  /**
+   * Zips a file or directory and appends the Base64 encoding of the archive as it is produced, so
+   * that neither the archive nor its encoding has to be held in memory.
+   *
+   * @param input The file or directory to zip.
+   * @param base64 Where the encoded archive is appended.
+   * @throws IOException If the input cannot be read, or the output cannot be appended to.
+   */
+  public static void zip(File input, Appendable base64) throws IOException {
+    try (OutputStream encoder = Base64.getEncoder().wrap(new AppendingOutputStream(base64))) {
+      zip(input, encoder);
+    }
+  }
+
+  /**
+   * Zips a file or directory, writing the archive as it is produced. The output is not closed.
+   *
+   * @param input The file or directory to zip.
+   * @param output Where the archive is written.
+   * @throws IOException If the input cannot be read, or the output cannot be written to.
+   */
+  public static void zip(File input, OutputStream output) throws IOException {
+    try (OutputStream out = new NonClosingOutputStream(output)) {
+      // Closing the zip stream (rather than only finishing it) frees its native deflater right away
+      try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(out, BUF_SIZE))) {
         if (input.isDirectory()) {
           addToZip(input.getAbsolutePath(), zos, input);
         } else {
           addToZip(input.getParentFile().getAbsolutePath(), zos, input);
         }
       }
-      return Base64.getEncoder().encodeToString(bos.toByteArray());
     }
   }
 
@@ -64,7 +93,7 @@ public class Zip {
 
 
         int len;
-        byte[] buffer = new byte[4096];
+        byte[] buffer = new byte[BUF_SIZE];
         while ((len = fis.read(buffer)) != -1) {
           zos.write(buffer, 0, len);
         }
@@ -81,11 +110,18 @@ public class Zip {
   }
 
   public static void unzip(String source, File outputDir) throws IOException {
-    byte[] bytes = Base64.getMimeDecoder().decode(source);
+    unzip(new StringReader(source), outputDir);
+  }
 
-    try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes)) {
-      unzip(bis, outputDir);
-    }
+  /**
+   * Unzips a Base64 encoded archive, decoding it as it is read rather than all at once.
+   *
+   * @param base64 The encoded archive.
+   * @param outputDir The directory to unzip the archive to.
+   * @throws IOException If the archive cannot be read, or unzipped to the directory.
+   */
+  public static void unzip(Reader base64, File outputDir) throws IOException {
+    unzip(Base64.getMimeDecoder().wrap(new ReadingInputStream(base64)), outputDir);
   }
 
   public static File unzipToTempDir(InputStream source, String prefix, String suffix) throws IOException {
@@ -128,4 +164,88 @@ public class Zip {
       }
     }
   }
+
+  /**
+   * Appends the bytes written to it as characters. Only meant for ASCII, such as Base64.
+   */
+  private static class AppendingOutputStream extends OutputStream {
+
+    private final Appendable appendable;
+    private final char[] chars = new char[BUF_SIZE];
+
+    AppendingOutputStream(Appendable appendable) {
+      this.appendable = appendable;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      appendable.append((char) (b & 0xff));
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      while (len > 0) {
+        int chunk = Math.min(len, chars.length);
+        for (int i = 0; i < chunk; i++) {
+          chars[i] = (char) (b[off + i] & 0xff);
+        }
+        appendable.append(CharBuffer.wrap(chars, 0, chunk));
+        off += chunk;
+        len -= chunk;
+      }
+    }
+  }
+
+  /**
+   * Passes everything on to another stream, but only flushes it when closed.
+   */
+  private static class NonClosingOutputStream extends FilterOutputStream {
+
+    NonClosingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.flush();
+    }
+  }
+
+  /**
+   * Reads the characters of a reader as bytes. Only meant for ASCII, such as Base64.
+   */
+  private static class ReadingInputStream extends InputStream {
+
+    private final Reader reader;
+    private final char[] chars = new char[BUF_SIZE];
+
+    ReadingInputStream(Reader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int read = reader.read();
+      return read == -1 ? -1 : read & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int read = reader.read(chars, 0, Math.min(len, chars.length));
+      for (int i = 0; i < read; i++) {
+        b[off + i] = (byte) chars[i];
+      }
+      return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
 }
@@ -31,7 +31,10 @@ import java.util.Objects;
 class Input {
 
   public static final char EOF = (char) -1;
+  // Characters are read from the source a block at a time, rather than one by one.
+  private static final int BUFFER_SIZE = 4096;
   private final Readable source;
+  private final CharBuffer buffer = (CharBuffer) CharBuffer.allocate(BUFFER_SIZE).flip();
   private boolean read;
   private char peekedChar;
   private char[] lastRead = new char[128];
@@ -75,17 +78,24 @@ class Input {
       return;
     }
 
-    CharBuffer buf = CharBuffer.allocate(1);
+    if (buffer.hasRemaining()) {
+      peekedChar = buffer.get();
+      read = true;
+      return;
+    }
+
+    buffer.clear();
     int charsRead;
     try {
-      charsRead = source.read(buf);
+      charsRead = source.read(buffer);
     } catch (IOException e) {
       throw new UncheckedIOException(e.getMessage(), e);
     }
-    if (charsRead != 1) {
+    buffer.flip();
+    if (charsRead <= 0) {
       peekedChar = EOF;
     } else {
-      peekedChar = buf.array()[0];
+      peekedChar = buffer.get();
     }
     read = true;
   }
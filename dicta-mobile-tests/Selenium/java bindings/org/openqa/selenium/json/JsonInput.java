@@ -30,6 +30,15 @@ import java.util.function.Function;
 
 public class JsonInput implements Closeable {
 
+  // Names that are in almost every response. When one of these is read, the constant is returned
+  // rather than a new string.
+  private static final String[] COMMON_NAMES = {
+      "value", "status", "sessionId", "state", "error", "message", "stacktrace", "data",
+      "capabilities", "ELEMENT", "element-6066-11e4-a52e-4f735466cecf", "x", "y", "width",
+      "height", "name", "domain", "path", "secure", "httpOnly", "expiry"};
+  // Longest run of digits that always fits in a long.
+  private static final int MAX_LONG_DIGITS = 18;
+
   private final Readable source;
   private volatile boolean readPerformed = false;
   private JsonTypeCoercer coercer;
@@ -38,6 +47,8 @@ public class JsonInput implements Closeable {
   // Used when reading maps and collections so that we handle de-nesting and
   // figuring out whether we're expecting a NAME properly.
   private Deque<Container> stack = new ArrayDeque<>();
+  // Reused for every string and number read, as only one is ever being read at a time.
+  private final StringBuilder token = new StringBuilder();
 
   JsonInput(Readable source, JsonTypeCoercer coercer, PropertySetting setter) {
     this.source = Objects.requireNonNull(source);
@@ -131,7 +142,7 @@ public class JsonInput implements Closeable {
   public String nextName() {
     expect(JsonType.NAME);
 
-    String name = readString();
+    String name = readName();
     skipWhitespace(input);
     char read = input.read();
     if (read != ':') {
@@ -148,9 +159,11 @@ public class JsonInput implements Closeable {
 
   public Number nextNumber() {
     expect(JsonType.NUMBER);
-    StringBuilder builder = new StringBuilder();
+    StringBuilder builder = token;
+    builder.setLength(0);
     // We know it's safe to use a do/while loop since the first character was a number
     boolean fractionalPart = false;
+    boolean onlyDigits = true;
     do {
       char read = input.peek();
       if (Character.isDigit(read) ||
@@ -165,8 +178,22 @@ public class JsonInput implements Closeable {
       if (read == '.') {
         fractionalPart = true;
       }
+      if ((read < '0' || read > '9') && !(read == '-' && builder.length() == 1)) {
+        onlyDigits = false;
+      }
     } while (true);
 
+    // Most numbers are small integers (statuses, coordinates, sizes), which can be parsed straight
+    // from the characters read
+    int start = builder.length() > 0 && builder.charAt(0) == '-' ? 1 : 0;
+    if (onlyDigits && builder.length() > start && builder.length() - start <= MAX_LONG_DIGITS) {
+      long number = 0;
+      for (int i = start; i < builder.length(); i++) {
+        number = number * 10 + (builder.charAt(i) - '0');
+      }
+      return start == 1 ? -number : number;
+    }
+
     try {
       Number number = new BigDecimal(builder.toString());
       if (fractionalPart) {
@@ -183,6 +210,21 @@ public class JsonInput implements Closeable {
     return readString();
   }
 
+  /**
+   * Reads the next string, copying it to {@code to} as it is read rather than building it up in
+   * memory. Useful for very large values, such as base64 encoded screenshots.
+   *
+   * @param to where the (unescaped) characters of the string are written.
+   */
+  public void nextString(Appendable to) {
+    expect(JsonType.STRING);
+    try {
+      readString(to);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   public boolean hasNext() {
     if (stack.isEmpty()) {
       throw new JsonException(
@@ -331,9 +373,36 @@ public class JsonInput implements Closeable {
   }
 
   private String readString() {
+    token.setLength(0);
+    try {
+      readString(token);
+    } catch (IOException e) {
+      // StringBuilder doesn't throw
+      throw new UncheckedIOException(e);
+    }
+    return token.toString();
+  }
+
+  private String readName() {
+    token.setLength(0);
+    try {
+      readString(token);
+    } catch (IOException e) {
+      // StringBuilder doesn't throw
+      throw new UncheckedIOException(e);
+    }
+
+    for (String name : COMMON_NAMES) {
+      if (name.length() == token.length() && name.contentEquals(token)) {
+        return name;
+      }
+    }
+    return token.toString();
+  }
+
+  private void readString(Appendable builder) throws IOException {
     input.read();  // Skip leading quote
 
-    StringBuilder builder = new StringBuilder();
     while (input.peek() != '"' && input.peek() != Input.EOF) {
       char read = input.read();
       if (read == '\\') {
@@ -345,13 +414,11 @@ public class JsonInput implements Closeable {
 
     char last = input.read();// Skip trailing quote
     if (last != '"') {
-      throw new JsonException("Unterminated string: " + builder + ". " + input);
+      throw new JsonException("Unterminated string. " + input);
     }
-
-    return builder.toString();
   }
 
-  private void readEscape(StringBuilder builder) {
+  private void readEscape(Appendable builder) throws IOException {
     char read = input.read();
 
     // List from: https://tools.ietf.org/html/rfc7159.html#section-7
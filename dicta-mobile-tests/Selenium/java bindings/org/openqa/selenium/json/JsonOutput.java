@@ -19,6 +19,7 @@ package org.openqa.selenium.json;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
 import org.openqa.selenium.logging.LogLevelMapping;
@@ -36,7 +37,9 @@ import java.util.Date;
 import java.util.Deque;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -93,8 +96,34 @@ public class JsonOutput implements Closeable {
     builder.put((int) '&', String.format("\\u%04x", (int) '&'));
     ESCAPES = builder.build();
   }
+  // The same escapes, indexed by character so that they can be looked up without boxing. Only
+  // goes up to the highest character that is escaped.
+  private static final String[] ESCAPES_BY_CHAR;
+  static {
+    ESCAPES_BY_CHAR = new String[ESCAPES.keySet().stream().max(Integer::compare).get() + 1];
+    ESCAPES.forEach((c, escape) -> ESCAPES_BY_CHAR[c] = escape);
+  }
+
+  // Which of the converters handles each class. Converters are always in the same order, so this
+  // is the same for every JsonOutput, and each class only has to be tested against them once.
+  private static final ClassValue<int[]> CONVERTER_INDEX = new ClassValue<int[]>() {
+    @Override
+    protected int[] computeValue(Class<?> type) {
+      return new int[] {-1};
+    }
+  };
+  // toJson/asMap/toMap methods looked up so far, by class and method name
+  private static final ClassValue<Map<String, Optional<Method>>> METHODS =
+      new ClassValue<Map<String, Optional<Method>>>() {
+        @Override
+        protected Map<String, Optional<Method>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
 
   private final Map<Predicate<Class<?>>, SafeBiConsumer<Object, Integer>> converters;
+  private final ImmutableList<Predicate<Class<?>>> converterPredicates;
+  private final ImmutableList<SafeBiConsumer<Object, Integer>> converterList;
   private final Appendable appendable;
   private final Consumer<String> appender;
   private Deque<Node> stack;
@@ -131,6 +160,7 @@ public class JsonOutput implements Closeable {
         .put(URL.class::isAssignableFrom, (obj, depth) -> append(asString(((URL) obj).toExternalForm())))
         .put(UUID.class::isAssignableFrom, (obj, depth) -> append(asString(((UUID) obj).toString())))
         .put(Level.class::isAssignableFrom, (obj, depth) -> append(asString(LogLevelMapping.getName((Level) obj))))
+        .put(StreamedString.class::isAssignableFrom, (obj, depth) -> writeStreamed((StreamedString) obj))
         .put(
             SessionId.class::isAssignableFrom,
             (obj, depth) -> {
@@ -189,6 +219,8 @@ public class JsonOutput implements Closeable {
         .put(cls -> true, (obj, depth) -> mapObject(obj, depth - 1))
 
         .build();
+    this.converterPredicates = ImmutableList.copyOf(converters.keySet());
+    this.converterList = ImmutableList.copyOf(converters.values());
   }
 
   public JsonOutput setPrettyPrint(boolean enablePrettyPrinting) {
@@ -230,7 +262,7 @@ public class JsonOutput implements Closeable {
 
   public JsonOutput beginArray() {
     append("[" + lineSeparator);
-    indent += "  ";
+    indent += indentBy;
     stack.addFirst(new JsonCollection());
     return this;
   }
@@ -256,16 +288,41 @@ public class JsonOutput implements Closeable {
   }
 
   public JsonOutput write(Object input, int depthRemaining) {
-    converters.entrySet().stream()
-        .filter(entry -> entry.getKey().test(input == null ? null : input.getClass()))
-        .findFirst()
-        .map(Map.Entry::getValue)
-        .orElseThrow(() -> new JsonException("Unable to write " + input))
-        .consume(input, depthRemaining);
+    // The most common values, which come before any other converters that could apply to them
+    if (input == null) {
+      return append("null");
+    }
+    if (input instanceof String) {
+      return append(asString(input));
+    }
+    if (input instanceof Boolean) {
+      return append((Boolean) input ? "true" : "false");
+    }
+    if (input instanceof Integer || input instanceof Long || input instanceof Double) {
+      return append(input.toString());
+    }
+
+    int[] index = CONVERTER_INDEX.get(input.getClass());
+    if (index[0] < 0) {
+      index[0] = findConverter(input.getClass());
+    }
+    if (index[0] == converterList.size()) {
+      throw new JsonException("Unable to write " + input);
+    }
+    converterList.get(index[0]).consume(input, depthRemaining);
 
     return this;
   }
 
+  private int findConverter(Class<?> clazz) {
+    for (int i = 0; i < converterPredicates.size(); i++) {
+      if (converterPredicates.get(i).test(clazz)) {
+        return i;
+      }
+    }
+    return converterPredicates.size();
+  }
+
   public void close() {
     if (appendable instanceof Closeable) {
       try {
@@ -285,13 +342,29 @@ public class JsonOutput implements Closeable {
     return this;
   }
 
-  private String asString(Object obj) {
-    StringBuilder toReturn = new StringBuilder("\"");
+  private void writeStreamed(StreamedString value) {
+    append("\"");
+    try {
+      value.appendTo(new EscapingAppendable());
+    } catch (IOException e) {
+      throw new JsonException("Unable to write " + value, e);
+    }
+    appender.accept("\"");
+  }
 
-    String.valueOf(obj)
-        .chars()
-        .mapToObj(i -> ESCAPES.getOrDefault(i, "" + (char) i))
-        .forEach(toReturn::append);
+  private String asString(Object obj) {
+    String text = String.valueOf(obj);
+    StringBuilder toReturn = new StringBuilder(text.length() + 2).append('"');
+
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      String escape = c < ESCAPES_BY_CHAR.length ? ESCAPES_BY_CHAR[c] : null;
+      if (escape == null) {
+        toReturn.append(c);
+      } else {
+        toReturn.append(escape);
+      }
+    }
 
     toReturn.append('"');
 
@@ -299,6 +372,12 @@ public class JsonOutput implements Closeable {
   }
 
   private Method getMethod(Class<?> clazz, String methodName) {
+    return METHODS.get(clazz)
+        .computeIfAbsent(methodName, name -> Optional.ofNullable(findMethod(clazz, name)))
+        .orElse(null);
+  }
+
+  private Method findMethod(Class<?> clazz, String methodName) {
     if (Object.class.equals(clazz)) {
       return null;
     }
@@ -308,7 +387,7 @@ public class JsonOutput implements Closeable {
       method.setAccessible(true);
       return method;
     } catch (NoSuchMethodException e) {
-      return getMethod(clazz.getSuperclass(), methodName);
+      return findMethod(clazz.getSuperclass(), methodName);
     } catch (SecurityException e) {
       throw new JsonException(
           "Unable to find the method because of a security constraint: " + methodName,
@@ -361,6 +440,46 @@ public class JsonOutput implements Closeable {
     endObject();
   }
 
+  /**
+   * Escapes the characters of a string value as they are appended, for {@link StreamedString}s.
+   */
+  private class EscapingAppendable implements Appendable {
+
+    private final StringBuilder chunk = new StringBuilder();
+
+    @Override
+    public Appendable append(CharSequence csq) {
+      return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) {
+      chunk.setLength(0);
+      for (int i = start; i < end; i++) {
+        escape(csq.charAt(i));
+      }
+      appender.accept(chunk.toString());
+      return this;
+    }
+
+    @Override
+    public Appendable append(char c) {
+      chunk.setLength(0);
+      escape(c);
+      appender.accept(chunk.toString());
+      return this;
+    }
+
+    private void escape(char c) {
+      String escape = c < ESCAPES_BY_CHAR.length ? ESCAPES_BY_CHAR[c] : null;
+      if (escape == null) {
+        chunk.append(c);
+      } else {
+        chunk.append(escape);
+      }
+    }
+  }
+
   private class Node {
     protected boolean isEmpty = true;
 
@@ -0,0 +1,37 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.json;
+
+import java.io.IOException;
+
+/**
+ * A string value that {@link JsonOutput} writes by having it append its characters as they are
+ * produced, so that large values (such as a zipped and encoded file) never have to be held in
+ * memory as a whole.
+ */
+@FunctionalInterface
+public interface StreamedString {
+
+  /**
+   * Appends the characters of the string. This may be called every time the value is written.
+   *
+   * @param appendable Where to append the characters.
+   * @throws IOException If the characters cannot be produced or appended.
+   */
+  void appendTo(Appendable appendable) throws IOException;
+}
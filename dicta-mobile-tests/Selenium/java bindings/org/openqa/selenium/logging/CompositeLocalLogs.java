@@ -63,4 +63,12 @@ class CompositeLocalLogs extends LocalLogs {
       allTypesLogger.addEntry(logType, entry);
     }
   }
+
+  @Override
+  public boolean isEnabled(String logType) {
+    if (predefinedTypeLogger.getAvailableLogTypes().contains(logType)) {
+      return predefinedTypeLogger.isEnabled(logType);
+    }
+    return allTypesLogger.isEnabled(logType);
+  }
 }
@@ -36,6 +36,11 @@ public abstract class LocalLogs implements Logs {
 
     public void addEntry(String logType, LogEntry entry) {
     }
+
+    @Override
+    public boolean isEnabled(String logType) {
+      return false;
+    }
   };
 
   /**
@@ -74,4 +79,15 @@ public abstract class LocalLogs implements Logs {
   public abstract LogEntries get(String logType);
 
   public abstract void addEntry(String logType, LogEntry entry);
+
+  /**
+   * Whether entries of the given log type are kept. Callers can check this before building an
+   * entry that is costly to make.
+   *
+   * @param logType the log type to check
+   * @return false if entries of this type would be dropped by {@link #addEntry(String, LogEntry)}
+   */
+  public boolean isEnabled(String logType) {
+    return true;
+  }
 }
@@ -69,6 +69,11 @@ class StoringLocalLogs extends LocalLogs {
     }
   }
 
+  @Override
+  public boolean isEnabled(String logType) {
+    return logTypesToInclude.contains(logType);
+  }
+
   public Set<String> getAvailableLogTypes() {
     return localLogs.keySet();
   }
@@ -19,5 +19,6 @@ package org.openqa.selenium.logging.profiler;
 
 public enum EventType {
   HTTP_COMMAND,
+  HTTP_CONNECTIONS,
   YIELD_TO_PAGE_LOAD,
 }
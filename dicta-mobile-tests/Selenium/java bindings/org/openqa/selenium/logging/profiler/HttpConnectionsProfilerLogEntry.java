@@ -0,0 +1,39 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.logging.profiler;
+
+import org.openqa.selenium.remote.http.ConnectionCounters;
+
+public class HttpConnectionsProfilerLogEntry extends ProfilerLogEntry {
+
+  public HttpConnectionsProfilerLogEntry(ConnectionCounters counters) {
+    super(EventType.HTTP_CONNECTIONS, constructMessage(EventType.HTTP_CONNECTIONS, counters));
+  }
+
+  private static String constructMessage(EventType eventType, ConnectionCounters counters) {
+    return String.format(
+        "{\"event\": \"%s\", \"opened\": %d, \"reused\": %d, \"evicted\": %d, "
+        + "\"inflight\": %d, \"idle\": %d}",
+        eventType.toString(),
+        counters.getOpened(),
+        counters.getReused(),
+        counters.getEvicted(),
+        counters.getInFlight(),
+        counters.getIdle());
+  }
+}
@@ -29,13 +29,13 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 public class PortProber {
 
-  private static final Random random = new Random();
   private static final EphemeralPortRangeDetector ephemeralRangeDetector;
+  private static final PortReservations reservations;
 
   static {
     final Platform current = Platform.getCurrent();
@@ -47,6 +47,8 @@ public class PortProber {
     } else {
        ephemeralRangeDetector = new FixedIANAPortRange();
     }
+
+    reservations = createAcceptablePorts();
   }
 
   public static final int HIGHEST_PORT = 65535;
@@ -56,53 +58,85 @@ public class PortProber {
     // Utility class
   }
 
+  /**
+   * Finds a free port and reserves it, so that no other caller in this process is given the same
+   * port until it is released with {@link #releasePort(int)}. The port is checked to be free by
+   * binding to it, so it is also unlikely to be taken by another process before it is used.
+   *
+   * @return A free port.
+   */
   public static int findFreePort() {
-    for (int i = 0; i < 5; i++) {
-      int seedPort = createAcceptablePort();
-      int suggestedPort = checkPortIsFree(seedPort);
-      if (suggestedPort != -1) {
-        return suggestedPort;
+    if (reservations == null) {
+      throw new UnsupportedOperationException("Could not find ephemeral port to use");
+    }
+
+    int size = reservations.size();
+    int offset = ThreadLocalRandom.current().nextInt(size);
+    for (int i = 0; i < size; i++) {
+      int port = reservations.getFirstPort() + (offset + i) % size;
+      if (!reservations.reserve(port)) {
+        continue;
+      }
+      if (checkPortIsFree(port) != -1) {
+        return port;
       }
+      reservations.release(port);
     }
     throw new RuntimeException("Unable to find a free port");
   }
 
   /**
-   * Returns a port that is within a probable free range. <p/> Based on the ports in
+   * Reserves a port that is about to be used, so that {@link #findFreePort()} does not hand it out
+   * while it is. Ports outside the range that {@link #findFreePort()} uses need no reservation.
+   *
+   * @param port The port to reserve.
+   * @return Whether the port was reserved by this call, rather than already being reserved.
+   */
+  public static boolean reservePort(int port) {
+    return reservations != null && reservations.reserve(port);
+  }
+
+  /**
+   * Releases a port returned by {@link #findFreePort()} (or reserved with
+   * {@link #reservePort(int)}) once it is no longer used, so that it can be handed out again.
+   *
+   * @param port The port to release.
+   */
+  public static void releasePort(int port) {
+    if (reservations != null) {
+      reservations.release(port);
+    }
+  }
+
+  /**
+   * Returns the ports within a probable free range. <p/> Based on the ports in
    * http://en.wikipedia.org/wiki/Ephemeral_ports, this method stays away from all well-known
    * ephemeral port ranges, since they can arbitrarily race with the operating system in
    * allocations. Due to the port-greedy nature of selenium this happens fairly frequently.
    * Staying within the known safe range increases the probability tests will run green quite
    * significantly.
    *
-   * @return a random port number
+   * @return the ports free ports are looked for in, or {@code null} if there are none
    */
-  private static int createAcceptablePort() {
-    synchronized (random) {
-      final int FIRST_PORT;
-      final int LAST_PORT;
-
-      int freeAbove = HIGHEST_PORT - ephemeralRangeDetector.getHighestEphemeralPort();
-      int freeBelow = max(0, ephemeralRangeDetector.getLowestEphemeralPort() - START_OF_USER_PORTS);
-
-      if (freeAbove > freeBelow) {
-        FIRST_PORT = ephemeralRangeDetector.getHighestEphemeralPort();
-        LAST_PORT = 65535;
-      } else {
-        FIRST_PORT = 1024;
-        LAST_PORT = ephemeralRangeDetector.getLowestEphemeralPort();
-      }
+  private static PortReservations createAcceptablePorts() {
+    final int FIRST_PORT;
+    final int LAST_PORT;
 
-      if (FIRST_PORT == LAST_PORT) {
-        return FIRST_PORT;
-      }
-      if (FIRST_PORT > LAST_PORT) {
-        throw new UnsupportedOperationException("Could not find ephemeral port to use");
-      }
-      final int randomInt = random.nextInt();
-      final int portWithoutOffset = Math.abs(randomInt % (LAST_PORT - FIRST_PORT + 1));
-      return portWithoutOffset + FIRST_PORT;
+    int freeAbove = HIGHEST_PORT - ephemeralRangeDetector.getHighestEphemeralPort();
+    int freeBelow = max(0, ephemeralRangeDetector.getLowestEphemeralPort() - START_OF_USER_PORTS);
+
+    if (freeAbove > freeBelow) {
+      FIRST_PORT = ephemeralRangeDetector.getHighestEphemeralPort();
+      LAST_PORT = 65535;
+    } else {
+      FIRST_PORT = 1024;
+      LAST_PORT = ephemeralRangeDetector.getLowestEphemeralPort();
+    }
+
+    if (FIRST_PORT > LAST_PORT) {
+      return null;
     }
+    return new PortReservations(FIRST_PORT, LAST_PORT);
   }
 
   private static int checkPortIsFree(int port) {
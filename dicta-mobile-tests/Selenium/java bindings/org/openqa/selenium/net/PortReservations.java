@@ -0,0 +1,103 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.openqa.selenium.net;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps track of which ports in a range have been handed out in this process, so that two threads
+ * looking for a free port at the same time never get the same one. Reserving and releasing a port
+ * are single compare-and-set operations on a bitmap, so there is no lock to contend on.
+ */
+class PortReservations {
+
+  private final int firstPort;
+  private final int lastPort;
+  private final AtomicLongArray reserved;
+
+  PortReservations(int firstPort, int lastPort) {
+    if (firstPort > lastPort) {
+      throw new IllegalArgumentException(
+          String.format("Invalid port range: %d to %d", firstPort, lastPort));
+    }
+    this.firstPort = firstPort;
+    this.lastPort = lastPort;
+    this.reserved = new AtomicLongArray((size() + 63) / 64);
+  }
+
+  int getFirstPort() {
+    return firstPort;
+  }
+
+  int size() {
+    return lastPort - firstPort + 1;
+  }
+
+  boolean contains(int port) {
+    return port >= firstPort && port <= lastPort;
+  }
+
+  /**
+   * @return Whether the port was reserved by this call (false if it was already reserved, or is
+   *     outside the range).
+   */
+  boolean reserve(int port) {
+    if (!contains(port)) {
+      return false;
+    }
+    int index = indexOf(port);
+    long bit = bitOf(port);
+    while (true) {
+      long current = reserved.get(index);
+      if ((current & bit) != 0) {
+        return false;
+      }
+      if (reserved.compareAndSet(index, current, current | bit)) {
+        return true;
+      }
+    }
+  }
+
+  void release(int port) {
+    if (!contains(port)) {
+      return;
+    }
+    int index = indexOf(port);
+    long bit = bitOf(port);
+    while (true) {
+      long current = reserved.get(index);
+      if ((current & bit) == 0 || reserved.compareAndSet(index, current, current & ~bit)) {
+        return;
+      }
+    }
+  }
+
+  boolean isReserved(int port) {
+    return contains(port) && (reserved.get(indexOf(port)) & bitOf(port)) != 0;
+  }
+
+  private int indexOf(int port) {
+    return (port - firstPort) >>> 6;
+  }
+
+  private long bitOf(int port) {
+    // Shifts of a long only use the low six bits of the distance, as with java.util.BitSet
+    return 1L << (port - firstPort);
+  }
+}
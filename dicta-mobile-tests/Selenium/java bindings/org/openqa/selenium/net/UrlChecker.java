@@ -146,6 +146,26 @@ public class UrlChecker {
     }
   }
 
+  /**
+   * Checks once, without waiting, whether a URL responds with HTTP 200.
+   *
+   * @param url The URL to check.
+   * @return Whether the URL is available.
+   */
+  public boolean isAvailable(URL url) {
+    HttpURLConnection connection = null;
+    try {
+      connection = connectToUrl(url);
+      return connection.getResponseCode() == HttpURLConnection.HTTP_OK;
+    } catch (IOException e) {
+      return false;
+    } finally {
+      if (connection != null) {
+        connection.disconnect();
+      }
+    }
+  }
+
   private HttpURLConnection connectToUrl(URL url) throws IOException {
     HttpURLConnection connection = (HttpURLConnection) url.openConnection();
     connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
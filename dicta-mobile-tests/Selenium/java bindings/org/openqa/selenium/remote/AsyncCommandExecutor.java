@@ -0,0 +1,37 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.openqa.selenium.remote;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link CommandExecutor} that can also send commands without waiting for their responses, so
+ * that several independent commands can be in flight at once.
+ */
+public interface AsyncCommandExecutor extends CommandExecutor {
+
+  /**
+   * Sends the {@code command} without waiting for the response. Only commands that do not depend
+   * on each other (such as reading the text or attributes of elements) should be in flight at the
+   * same time, as the remote end may carry them out in any order.
+   *
+   * @param command The command to execute.
+   * @return A future completed with the command's response, or exceptionally if it could not be
+   *         sent.
+   */
+  CompletableFuture<Response> executeAsync(Command command);
+}
@@ -0,0 +1,122 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.openqa.selenium.remote;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.openqa.selenium.Beta;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Sends independent, read-only commands (such as reading the text or attributes of elements) to a
+ * {@link RemoteWebDriver} without waiting for each response before sending the next. Reading many
+ * values then costs about as much as the slowest of them, rather than one round trip each.
+ *
+ * <p>Commands that change the page (clicking, typing, navigating) should not be sent through a
+ * pipeline, as the remote end may carry out commands in flight at the same time in any order.
+ *
+ * @see RemoteWebDriver#pipeline()
+ */
+@Beta
+public class CommandPipeline {
+
+  private final RemoteWebDriver driver;
+
+  CommandPipeline(RemoteWebDriver driver) {
+    this.driver = Objects.requireNonNull(driver, "Driver must be set");
+  }
+
+  /**
+   * Sends a command without waiting for its response.
+   *
+   * @param driverCommand the name of the command (see {@link DriverCommand}).
+   * @param parameters the parameters of the command.
+   * @return a future completed with the value of the response.
+   */
+  public CompletableFuture<Object> execute(String driverCommand, Map<String, ?> parameters) {
+    return driver.executeAsync(driverCommand, parameters).thenApply(Response::getValue);
+  }
+
+  public CompletableFuture<String> getText(WebElement element) {
+    return execute(DriverCommand.GET_ELEMENT_TEXT, ImmutableMap.of("id", idOf(element)))
+        .thenApply(value -> (String) value);
+  }
+
+  public CompletableFuture<String> getAttribute(WebElement element, String name) {
+    return execute(
+        DriverCommand.GET_ELEMENT_ATTRIBUTE, ImmutableMap.of("id", idOf(element), "name", name))
+        .thenApply(value -> value == null ? null : String.valueOf(value));
+  }
+
+  /**
+   * @return the text of each of the elements, in the same order as the elements.
+   */
+  public List<String> getTexts(List<? extends WebElement> elements) {
+    return joinAll(elements.stream().map(this::getText).collect(Collectors.toList()));
+  }
+
+  /**
+   * @return the given attribute of each of the elements, in the same order as the elements.
+   */
+  public List<String> getAttributes(List<? extends WebElement> elements, String name) {
+    return joinAll(
+        elements.stream().map(element -> getAttribute(element, name)).collect(Collectors.toList()));
+  }
+
+  /**
+   * Waits for all of the futures to complete.
+   *
+   * @return the results of the futures, in the same order as the futures.
+   * @throws WebDriverException the first failure, if any of the futures failed.
+   */
+  public static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+    List<T> results = new ArrayList<>(futures.size());
+    for (CompletableFuture<T> future : futures) {
+      try {
+        results.add(future.join());
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new WebDriverException(e.getCause());
+      }
+    }
+    return results;
+  }
+
+  private static String idOf(WebElement element) {
+    WebElement unwrapped = element;
+    while (unwrapped instanceof WrapsElement) {
+      unwrapped = ((WrapsElement) unwrapped).getWrappedElement();
+    }
+
+    if (!(unwrapped instanceof RemoteWebElement)) {
+      throw new IllegalArgumentException("Not a remote element: " + element);
+    }
+    return ((RemoteWebElement) unwrapped).getId();
+  }
+}
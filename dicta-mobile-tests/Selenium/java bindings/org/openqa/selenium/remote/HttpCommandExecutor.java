@@ -18,11 +18,21 @@
 package org.openqa.selenium.remote;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.openqa.selenium.remote.DriverCommand.ELEMENT_SCREENSHOT;
+import static org.openqa.selenium.remote.DriverCommand.EXECUTE_ASYNC_SCRIPT;
+import static org.openqa.selenium.remote.DriverCommand.FIND_CHILD_ELEMENT;
+import static org.openqa.selenium.remote.DriverCommand.FIND_CHILD_ELEMENTS;
+import static org.openqa.selenium.remote.DriverCommand.FIND_ELEMENT;
+import static org.openqa.selenium.remote.DriverCommand.FIND_ELEMENTS;
+import static org.openqa.selenium.remote.DriverCommand.GET;
 import static org.openqa.selenium.remote.DriverCommand.GET_ALL_SESSIONS;
 import static org.openqa.selenium.remote.DriverCommand.NEW_SESSION;
 import static org.openqa.selenium.remote.DriverCommand.QUIT;
+import static org.openqa.selenium.remote.DriverCommand.SCREENSHOT;
+import static org.openqa.selenium.remote.DriverCommand.UPLOAD_FILE;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 
 import org.openqa.selenium.NoSuchSessionException;
 import org.openqa.selenium.SessionNotCreatedException;
@@ -32,19 +42,43 @@ import org.openqa.selenium.logging.LocalLogs;
 import org.openqa.selenium.logging.LogEntry;
 import org.openqa.selenium.logging.LogType;
 import org.openqa.selenium.logging.NeedsLocalLogs;
+import org.openqa.selenium.logging.profiler.HttpConnectionsProfilerLogEntry;
 import org.openqa.selenium.logging.profiler.HttpProfilerLogEntry;
+import org.openqa.selenium.remote.http.AbstractHttpResponseCodec;
 import org.openqa.selenium.remote.http.HttpClient;
 import org.openqa.selenium.remote.http.HttpRequest;
 import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.W3CHttpResponseCodec;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.net.MalformedURLException;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class HttpCommandExecutor implements CommandExecutor, NeedsLocalLogs {
+public class HttpCommandExecutor implements AsyncCommandExecutor, NeedsLocalLogs {
 
   private final static HttpClient.Factory defaultClientFactory = HttpClient.Factory.createDefault();
+  // Sends the commands given to executeAsync. Shared by all executors, as the threads only ever wait
+  // on responses; idle threads are let go.
+  private final static ExecutorService asyncExecutor = createAsyncExecutor(16);
+  // Commands whose responses are decoded straight into elements
+  private final static Set<String> FIND_COMMANDS =
+      ImmutableSet.of(FIND_ELEMENT, FIND_ELEMENTS, FIND_CHILD_ELEMENT, FIND_CHILD_ELEMENTS);
+  // Commands that wait in the browser (for a page to load, a script to call back...) or move a lot
+  // of data, and so say little about how long the remote end takes to answer
+  private final static Set<String> LONG_COMMANDS =
+      ImmutableSet.of(GET, EXECUTE_ASYNC_SCRIPT, SCREENSHOT, ELEMENT_SCREENSHOT, UPLOAD_FILE, QUIT);
 
   private final URL remoteServer;
   private final HttpClient client;
@@ -54,6 +88,8 @@ public class HttpCommandExecutor implements CommandExecutor, NeedsLocalLogs {
   private ResponseCodec<HttpResponse> responseCodec;
 
   private LocalLogs logs = LocalLogs.getNullLogger();
+  private volatile boolean decodeElementsDirectly = true;
+  private final AtomicLong averageRoundTripNanos = new AtomicLong();
 
   public HttpCommandExecutor(URL addressOfRemoteServer) {
     this(ImmutableMap.of(), addressOfRemoteServer);
@@ -103,6 +139,18 @@ public class HttpCommandExecutor implements CommandExecutor, NeedsLocalLogs {
     commandCodec.defineCommand(commandName, info.getMethod(), info.getUrl());
   }
 
+  /**
+   * Sets whether the responses of find element(s) commands are decoded straight into
+   * {@link RemoteWebElement}s (the default). This should be turned off when the driver creates
+   * its elements through a custom {@link org.openqa.selenium.remote.internal.JsonToWebElementConverter},
+   * which needs to see the element references as they were sent.
+   *
+   * @param decodeElementsDirectly whether to decode element references straight into elements.
+   */
+  public void setDecodeElementsDirectly(boolean decodeElementsDirectly) {
+    this.decodeElementsDirectly = decodeElementsDirectly;
+  }
+
   public void setLocalLogs(LocalLogs logs) {
     this.logs = logs;
   }
@@ -111,11 +159,82 @@ public class HttpCommandExecutor implements CommandExecutor, NeedsLocalLogs {
     logs.addEntry(logType, entry);
   }
 
+  /**
+   * Returns how long the remote end has recently taken to answer commands. This is a moving
+   * average, weighted towards the latest commands, of the time from sending each command to
+   * receiving its response. Commands that wait in the browser or move a lot of data (loading a
+   * page, asynchronous scripts, screenshots, uploads) are left out.
+   *
+   * @return The average round trip, or {@link Duration#ZERO} if no command has been sent yet.
+   */
+  public Duration getAverageRoundTripTime() {
+    return Duration.ofNanos(averageRoundTripNanos.get());
+  }
+
+  private void recordRoundTrip(long nanos) {
+    // Each command makes up an eighth of the average, as with TCP's smoothed round trip time
+    averageRoundTripNanos.accumulateAndGet(
+        Math.max(1, nanos),
+        (average, latest) -> average == 0 ? latest : average + (latest - average) / 8);
+  }
+
   public URL getAddressOfRemoteServer() {
     return remoteServer;
   }
 
   public Response execute(Command command) throws IOException {
+    return execute(command, null);
+  }
+
+  /**
+   * Sends the {@code command} on a pooled thread, so that it is in flight at the same time as other
+   * commands sent this way (each on its own pooled connection).
+   *
+   * @param command The command to execute. Starting and ending sessions can't be sent this way.
+   * @return A future completed with the command's response.
+   */
+  @Override
+  public CompletableFuture<Response> executeAsync(Command command) {
+    if (NEW_SESSION.equals(command.getName()) || QUIT.equals(command.getName())) {
+      throw new IllegalArgumentException(
+          "Sessions can only be started and ended synchronously: " + command.getName());
+    }
+
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return execute(command);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        },
+        asyncExecutor);
+  }
+
+  private static ExecutorService createAsyncExecutor(int maxThreads) {
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        maxThreads, maxThreads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(
+              runnable, "HttpCommandExecutor async " + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Executes a command whose response value is a (possibly very large) string, such as a
+   * screenshot, writing the value to {@code valueSink} as it is received instead of decoding all of
+   * it into memory.
+   *
+   * @param command The command to execute.
+   * @param valueSink Where the value of the response is written, or null to decode it as usual.
+   * @return The response. Its value is not set if it was written to {@code valueSink}.
+   */
+  public Response execute(Command command, Writer valueSink) throws IOException {
     if (command.getSessionId() == null) {
       if (QUIT.equals(command.getName())) {
         return new Response();
@@ -152,10 +271,34 @@ public class HttpCommandExecutor implements CommandExecutor, NeedsLocalLogs {
     HttpRequest httpRequest = commandCodec.encode(command);
     try {
       log(LogType.PROFILER, new HttpProfilerLogEntry(command.getName(), true));
-      HttpResponse httpResponse = client.execute(httpRequest);
+      long sent = System.nanoTime();
+      HttpResponse httpResponse;
+      try {
+        httpResponse = client.execute(httpRequest);
+      } finally {
+        // The content has been sent; this frees what it was held in (a temporary file for uploads)
+        httpRequest.consumeContentStream().close();
+      }
+      if (!LONG_COMMANDS.contains(command.getName())) {
+        recordRoundTrip(System.nanoTime() - sent);
+      }
       log(LogType.PROFILER, new HttpProfilerLogEntry(command.getName(), false));
+      if (logs.isEnabled(LogType.PROFILER)) {
+        // Counting the connections locks the client's pool, so only do it when it is logged
+        log(LogType.PROFILER, new HttpConnectionsProfilerLogEntry(
+            httpClientFactory.getConnectionCounters()));
+      }
 
-      Response response = responseCodec.decode(httpResponse);
+      Response response;
+      if (valueSink != null && responseCodec instanceof AbstractHttpResponseCodec) {
+        response = ((AbstractHttpResponseCodec) responseCodec).decode(httpResponse, valueSink);
+      } else if (decodeElementsDirectly
+                 && FIND_COMMANDS.contains(command.getName())
+                 && responseCodec instanceof W3CHttpResponseCodec) {
+        response = ((W3CHttpResponseCodec) responseCodec).decodeElements(httpResponse);
+      } else {
+        response = responseCodec.decode(httpResponse);
+      }
       if (response.getSessionId() == null) {
         if (httpResponse.getTargetHost() != null) {
           response.setSessionId(HttpSessionId.getSessionId(httpResponse.getTargetHost()));
@@ -43,6 +43,7 @@ import org.openqa.selenium.OutputType;
 import org.openqa.selenium.Platform;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StreamingOutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
@@ -68,6 +69,8 @@ import org.openqa.selenium.logging.NeedsLocalLogs;
 import org.openqa.selenium.remote.internal.JsonToWebElementConverter;
 import org.openqa.selenium.remote.internal.WebElementToJsonConverter;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.net.URL;
 import java.util.Collection;
 import java.util.Collections;
@@ -79,6 +82,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -267,6 +272,9 @@ public class RemoteWebDriver implements WebDriver, JavascriptExecutor,
 
   protected void setCommandExecutor(CommandExecutor executor) {
     this.executor = executor;
+    if (converter != null) {
+      useElementConverter(converter);
+    }
   }
 
   public Capabilities getCapabilities() {
@@ -292,7 +300,27 @@ public class RemoteWebDriver implements WebDriver, JavascriptExecutor,
   }
 
   public <X> X getScreenshotAs(OutputType<X> outputType) throws WebDriverException {
-    Response response = execute(DriverCommand.SCREENSHOT);
+    return getScreenshotAs(DriverCommand.SCREENSHOT, ImmutableMap.of(), outputType);
+  }
+
+  <X> X getScreenshotAs(String driverCommand, Map<String, ?> parameters,
+                        OutputType<X> outputType) {
+    if (outputType instanceof StreamingOutputType && executor instanceof HttpCommandExecutor) {
+      // Decode the screenshot into its destination as it is received
+      StreamingOutputType<X> streamingType = (StreamingOutputType<X>) outputType;
+      try (Writer writer = streamingType.openBase64Writer()) {
+        Response response = execute(driverCommand, parameters, writer);
+        if (response.getValue() instanceof String) {
+          // The response codec could not stream the value, but it can still be written out
+          writer.write((String) response.getValue());
+        }
+      } catch (IOException e) {
+        throw new WebDriverException(e);
+      }
+      return streamingType.getResult();
+    }
+
+    Response response = execute(driverCommand, parameters);
     Object result = response.getValue();
     if (result instanceof String) {
       String base64EncodedPng = (String) result;
@@ -302,7 +330,7 @@ public class RemoteWebDriver implements WebDriver, JavascriptExecutor,
       return outputType.convertFromBase64Png(base64EncodedPng);
     } else {
       throw new RuntimeException(String.format("Unexpected result for %s command: %s",
-          DriverCommand.SCREENSHOT,
+          driverCommand,
           result == null ? "null" : result.getClass().getName() + " instance"));
     }
   }
@@ -522,8 +550,26 @@ public class RemoteWebDriver implements WebDriver, JavascriptExecutor,
     return new RemoteWebDriverOptions();
   }
 
+  /**
+   * @return a pipeline for sending independent, read-only commands without waiting for each
+   *         response before sending the next.
+   */
+  @Beta
+  public CommandPipeline pipeline() {
+    return new CommandPipeline(this);
+  }
+
   protected void setElementConverter(JsonToWebElementConverter converter) {
     this.converter = Objects.requireNonNull(converter, "Element converter must not be null");
+    useElementConverter(converter);
+  }
+
+  private void useElementConverter(JsonToWebElementConverter converter) {
+    // A custom converter creates its own elements, so it has to be given the element references
+    if (executor instanceof HttpCommandExecutor) {
+      ((HttpCommandExecutor) executor).setDecodeElementsDirectly(
+          converter.getClass() == JsonToWebElementConverter.class);
+    }
   }
 
   protected JsonToWebElementConverter getElementConverter() {
@@ -540,6 +586,10 @@ public class RemoteWebDriver implements WebDriver, JavascriptExecutor,
   }
 
   protected Response execute(String driverCommand, Map<String, ?> parameters) {
+    return execute(driverCommand, parameters, null);
+  }
+
+  private Response execute(String driverCommand, Map<String, ?> parameters, Writer valueSink) {
     Command command = new Command(sessionId, driverCommand, parameters);
     Response response;
 
@@ -549,7 +599,9 @@ public class RemoteWebDriver implements WebDriver, JavascriptExecutor,
         String.format("Forwarding %s on session %s to remote", driverCommand, sessionId));
     try {
       log(sessionId, command.getName(), command, When.BEFORE);
-      response = executor.execute(command);
+      response = valueSink == null
+                 ? executor.execute(command)
+                 : ((HttpCommandExecutor) executor).execute(command, valueSink);
       log(sessionId, command.getName(), command, When.AFTER);
 
       if (response == null) {
@@ -609,6 +661,56 @@ public class RemoteWebDriver implements WebDriver, JavascriptExecutor,
     return execute(command, ImmutableMap.of());
   }
 
+  /**
+   * Sends a command without waiting for its response, if the command executor can do so (otherwise
+   * the command is executed right away). The response is unwrapped and checked for errors as with
+   * {@link #execute(String, Map)}.
+   */
+  CompletableFuture<Response> executeAsync(String driverCommand, Map<String, ?> parameters) {
+    if (!(executor instanceof AsyncCommandExecutor)) {
+      CompletableFuture<Response> result = new CompletableFuture<>();
+      try {
+        result.complete(execute(driverCommand, parameters));
+      } catch (WebDriverException e) {
+        result.completeExceptionally(e);
+      }
+      return result;
+    }
+
+    Command command = new Command(sessionId, driverCommand, parameters);
+    long start = System.currentTimeMillis();
+    log(sessionId, command.getName(), command, When.BEFORE);
+
+    return ((AsyncCommandExecutor) executor).executeAsync(command).handle((response, error) -> {
+      if (error != null) {
+        log(sessionId, command.getName(), command, When.EXCEPTION);
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        if (cause instanceof WebDriverException) {
+          throw (WebDriverException) cause;
+        }
+        UnreachableBrowserException ube = new UnreachableBrowserException(
+            "Error communicating with the remote browser. It may have died.", cause);
+        if (getSessionId() != null) {
+          ube.addInfo(WebDriverException.SESSION_ID, getSessionId().toString());
+        }
+        throw ube;
+      }
+      log(sessionId, command.getName(), command, When.AFTER);
+
+      response.setValue(getElementConverter().apply(response.getValue()));
+      try {
+        errorHandler.throwIfResponseFailed(response, System.currentTimeMillis() - start);
+      } catch (WebDriverException ex) {
+        ex.addInfo(WebDriverException.DRIVER_INFO, this.getClass().getName());
+        if (getSessionId() != null) {
+          ex.addInfo(WebDriverException.SESSION_ID, getSessionId().toString());
+        }
+        throw ex;
+      }
+      return response;
+    });
+  }
+
   protected ExecuteMethod getExecuteMethod() {
     return executeMethod;
   }
@@ -43,9 +43,10 @@ import org.openqa.selenium.internal.FindsByTagName;
 import org.openqa.selenium.internal.FindsByXPath;
 import org.openqa.selenium.internal.HasIdentity;
 import org.openqa.selenium.io.Zip;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.StreamedString;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -111,11 +112,12 @@ public class RemoteWebElement implements WebElement, FindsByLinkText, FindsById,
       throw new WebDriverException("You may only upload files: " + localFile);
     }
 
+    // The file is zipped and encoded as the command is sent, rather than held in memory
+    StreamedString zip = base64 -> Zip.zip(localFile, base64);
     try {
-      String zip = Zip.zip(localFile);
       Response response = execute(DriverCommand.UPLOAD_FILE, ImmutableMap.of("file", zip));
       return (String) response.getValue();
-    } catch (IOException e) {
+    } catch (JsonException e) {
       throw new WebDriverException("Cannot upload " + localFile, e);
     }
   }
@@ -389,19 +391,8 @@ public class RemoteWebElement implements WebElement, FindsByLinkText, FindsById,
 
   @Beta
   public <X> X getScreenshotAs(OutputType<X> outputType) throws WebDriverException {
-    Response response = execute(DriverCommand.ELEMENT_SCREENSHOT, ImmutableMap.of("id", id));
-    Object result = response.getValue();
-    if (result instanceof String) {
-      String base64EncodedPng = (String) result;
-      return outputType.convertFromBase64Png(base64EncodedPng);
-    } else if (result instanceof byte[]) {
-      String base64EncodedPng = new String((byte[]) result);
-      return outputType.convertFromBase64Png(base64EncodedPng);
-    } else {
-      throw new RuntimeException(String.format("Unexpected result for %s command: %s",
-                                               DriverCommand.ELEMENT_SCREENSHOT,
-                                               result == null ? "null" : result.getClass().getName() + " instance"));
-    }
+    return parent.getScreenshotAs(
+        DriverCommand.ELEMENT_SCREENSHOT, ImmutableMap.of("id", id), outputType);
   }
 
   public String toString() {
@@ -97,15 +97,26 @@ import com.google.common.base.Objects;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import com.google.common.io.CountingOutputStream;
+import com.google.common.io.FileBackedOutputStream;
 
 import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.openqa.selenium.json.StreamedString;
 import org.openqa.selenium.net.Urls;
 import org.openqa.selenium.remote.Command;
 import org.openqa.selenium.remote.CommandCodec;
 import org.openqa.selenium.remote.SessionId;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -117,6 +128,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public abstract class AbstractHttpCommandCodec implements CommandCodec<HttpRequest> {
   private static final Splitter PATH_SPLITTER = Splitter.on('/').omitEmptyStrings();
   private static final String SESSION_ID_PARAM = "sessionId";
+  // How much of a streamed request is kept in memory before the rest is written to a temporary file
+  private static final int STREAMED_IN_MEMORY = 1024 * 1024;
 
   private final ConcurrentHashMap<String, CommandSpec> nameToSpec = new ConcurrentHashMap<>();
   private final Map<String, String> aliases = new HashMap<>();
@@ -222,7 +235,10 @@ public abstract class AbstractHttpCommandCodec implements CommandCodec<HttpReque
 
     HttpRequest request = new HttpRequest(spec.method, uri);
 
-    if (HttpMethod.POST == spec.method) {
+    if (HttpMethod.POST == spec.method && parameters.values().stream().anyMatch(
+        value -> value instanceof StreamedString)) {
+      encodeStreamed(parameters, request);
+    } else if (HttpMethod.POST == spec.method) {
 
       String content = json.toJson(parameters);
       byte[] data = content.getBytes(UTF_8);
@@ -239,6 +255,49 @@ public abstract class AbstractHttpCommandCodec implements CommandCodec<HttpReque
     return request;
   }
 
+  /**
+   * Encodes parameters that hold {@link StreamedString}s (such as files being uploaded) without
+   * building the content in memory. Content beyond the first megabyte is kept in a temporary file,
+   * which is deleted once the content stream of the request is closed.
+   */
+  private void encodeStreamed(Map<String, ?> parameters, HttpRequest request) {
+    FileBackedOutputStream os = new FileBackedOutputStream(STREAMED_IN_MEMORY, true);
+    CountingOutputStream counter = new CountingOutputStream(os);
+    try {
+      try (Writer writer = new OutputStreamWriter(counter, UTF_8);
+           JsonOutput out = json.newOutput(writer)) {
+        out.write(parameters);
+      }
+
+      request.setHeader(CONTENT_LENGTH, String.valueOf(counter.getCount()));
+      request.setHeader(CONTENT_TYPE, JSON_UTF_8.toString());
+      request.setContent(new FilterInputStream(os.asByteSource().openBufferedStream()) {
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          } finally {
+            os.reset();
+          }
+        }
+      });
+    } catch (IOException e) {
+      resetQuietly(os);
+      throw new WebDriverException("Unable to encode command parameters", e);
+    } catch (RuntimeException e) {
+      resetQuietly(os);
+      throw e;
+    }
+  }
+
+  private static void resetQuietly(FileBackedOutputStream os) {
+    try {
+      os.reset();
+    } catch (IOException ignored) {
+      // Only the temporary file is left behind
+    }
+  }
+
   protected abstract Map<String,?> amendParameters(String name, Map<String, ?> parameters);
 
   @Override
@@ -321,18 +380,15 @@ public abstract class AbstractHttpCommandCodec implements CommandCodec<HttpReque
     SessionId sessionId,
     Map<String, ?> parameters,
     CommandSpec spec) {
-    StringBuilder builder = new StringBuilder();
-    for (String part : spec.pathSegments) {
-      if (part.isEmpty()) {
-        continue;
-      }
+    if (spec.parameterNames.length == 0) {
+      return spec.literals[0];
+    }
 
-      builder.append("/");
-      if (part.startsWith(":")) {
-        builder.append(getParameter(part.substring(1), commandName, sessionId, parameters));
-      } else {
-        builder.append(part);
-      }
+    StringBuilder builder = new StringBuilder(spec.estimatedUriLength);
+    builder.append(spec.literals[0]);
+    for (int i = 0; i < spec.parameterNames.length; i++) {
+      builder.append(getParameter(spec.parameterNames[i], commandName, sessionId, parameters));
+      builder.append(spec.literals[i + 1]);
     }
     return builder.toString();
   }
@@ -342,7 +398,7 @@ public abstract class AbstractHttpCommandCodec implements CommandCodec<HttpReque
     String commandName,
     SessionId sessionId,
     Map<String, ?> parameters) {
-    if ("sessionId".equals(parameterName)) {
+    if (SESSION_ID_PARAM.equals(parameterName)) {
       SessionId id = sessionId;
       checkArgument(id != null, "Session ID may not be null for command %s", commandName);
       return id.toString();
@@ -358,11 +414,36 @@ public abstract class AbstractHttpCommandCodec implements CommandCodec<HttpReque
     private final HttpMethod method;
     private final String path;
     private final ImmutableList<String> pathSegments;
+    // The path, compiled into the literal text around each parameter (there is always one more
+    // literal than there are parameters), so that encoding a command only has to fill it in.
+    private final String[] literals;
+    private final String[] parameterNames;
+    private final int estimatedUriLength;
 
     private CommandSpec(HttpMethod method, String path) {
       this.method = checkNotNull(method, "null method");
       this.path = path;
       this.pathSegments = ImmutableList.copyOf(PATH_SPLITTER.split(path));
+
+      List<String> literals = new ArrayList<>();
+      List<String> parameterNames = new ArrayList<>();
+      StringBuilder literal = new StringBuilder();
+      for (String part : pathSegments) {
+        literal.append("/");
+        if (part.startsWith(":")) {
+          literals.add(literal.toString());
+          parameterNames.add(part.substring(1));
+          literal.setLength(0);
+        } else {
+          literal.append(part);
+        }
+      }
+      literals.add(literal.toString());
+
+      this.literals = literals.toArray(new String[0]);
+      this.parameterNames = parameterNames.toArray(new String[0]);
+      // Session and element ids are usually 32-36 characters long
+      this.estimatedUriLength = path.length() + 36 * this.parameterNames.length;
     }
 
     @Override
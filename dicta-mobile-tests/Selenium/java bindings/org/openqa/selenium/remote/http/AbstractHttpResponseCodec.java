@@ -26,13 +26,21 @@ import static com.google.common.net.MediaType.JSON_UTF_8;
 import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.openqa.selenium.json.Json.OBJECT_TYPE;
 
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.json.Json;
 import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonType;
 import org.openqa.selenium.remote.ErrorCodes;
 import org.openqa.selenium.remote.Response;
 import org.openqa.selenium.remote.ResponseCodec;
 
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Writer;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -75,28 +83,32 @@ public abstract class AbstractHttpResponseCodec implements ResponseCodec<HttpRes
   @Override
   public Response decode(HttpResponse encodedResponse) {
     String contentType = nullToEmpty(encodedResponse.getHeader(CONTENT_TYPE));
-    String content = encodedResponse.getContentString().trim();
-    try {
-      return reconstructValue(json.toType(content, Response.class));
-    } catch (JsonException e) {
-      if (contentType.startsWith("application/json")) {
-        throw new IllegalArgumentException(
-            "Cannot decode response content: " + content, e);
-      }
-    } catch (ClassCastException e) {
-      if (contentType.startsWith("application/json")) {
-        if (content.isEmpty()) {
+    if (contentType.startsWith("application/json")) {
+      // Decode straight from the content stream, so that large values (page sources, screenshots)
+      // are not held in memory as bytes and as a string before being decoded.
+      ContentReader content = new ContentReader(encodedResponse);
+      try (JsonInput input = json.newInput(content)) {
+        if (content.isBlank()) {
           // The remote server has died, but has already set some headers.
           // Normally this occurs when the final window of the firefox driver
           // is closed on OS X. Return null, as the return value _should_ be
           // being ignored. This is not an elegant solution.
           return new Response();
         }
+        return reconstructValue(input.read(Response.class));
+      } catch (JsonException | ClassCastException e) {
         throw new IllegalArgumentException(
-            "Cannot decode response content: " + content, e);
+            "Cannot decode response content: " + content.getReadContent(), e);
       }
     }
 
+    String content = encodedResponse.getContentString().trim();
+    try {
+      return reconstructValue(json.toType(content, Response.class));
+    } catch (JsonException | ClassCastException e) {
+      // Not a wrapped response; fall through and use the content as the value.
+    }
+
     Response response = new Response();
     int statusCode = encodedResponse.getStatus();
     if (statusCode < 200 || statusCode > 299) {
@@ -138,5 +150,141 @@ public abstract class AbstractHttpResponseCodec implements ResponseCodec<HttpRes
     return response;
   }
 
+  /**
+   * Decodes a response whose value is a (possibly very large) string, such as a screenshot, writing
+   * the value to {@code valueSink} as it is read instead of building a string from it. Responses
+   * that are not successful JSON responses are decoded as usual, and nothing is written.
+   *
+   * @param encodedResponse The response to decode.
+   * @param valueSink Where the value of the response is written, if it is a string.
+   * @return The decoded response. Its value is not set if it was written to {@code valueSink}.
+   */
+  public Response decode(HttpResponse encodedResponse, Writer valueSink) {
+    String contentType = nullToEmpty(encodedResponse.getHeader(CONTENT_TYPE));
+    if (encodedResponse.getStatus() != HTTP_OK || !contentType.startsWith("application/json")) {
+      return decode(encodedResponse);
+    }
+
+    ContentReader content = new ContentReader(encodedResponse);
+    if (content.isBlank()) {
+      // As in decode(HttpResponse): the remote server has died.
+      return new Response();
+    }
+
+    Response response = new Response();
+    try (JsonInput input = json.newInput(content)) {
+      input.beginObject();
+      while (input.hasNext()) {
+        switch (input.nextName()) {
+          case "sessionId":
+            Object sessionId = input.read(OBJECT_TYPE);
+            response.setSessionId(sessionId == null ? null : String.valueOf(sessionId));
+            break;
+
+          case "state":
+            response.setState(input.read(String.class));
+            break;
+
+          case "status":
+            Number status = input.read(Number.class);
+            response.setStatus(status == null ? null : status.intValue());
+            break;
+
+          case "value":
+            if (input.peek() == JsonType.STRING) {
+              input.nextString(valueSink);
+            } else {
+              response.setValue(input.read(OBJECT_TYPE));
+            }
+            break;
+
+          default:
+            input.skipValue();
+            break;
+        }
+      }
+      input.endObject();
+    } catch (JsonException | ClassCastException e) {
+      throw new IllegalArgumentException(
+          "Cannot decode response content: " + content.getReadContent(), e);
+    }
+
+    if (response.getStatus() == null) {
+      response.setStatus(ErrorCodes.SUCCESS);
+    }
+    if (response.getState() == null) {
+      response.setState(errorCodes.toState(response.getStatus()));
+    }
+    return reconstructValue(response);
+  }
+
   protected abstract Response reconstructValue(Response response);
+
+  /**
+   * Reads the content of a response as it arrives, keeping the start of what was read so that it
+   * can be shown if the content cannot be decoded.
+   */
+  private static class ContentReader extends FilterReader {
+
+    private static final int MAX_KEPT = 4096;
+
+    private final StringBuilder kept = new StringBuilder();
+    private boolean truncated;
+
+    ContentReader(HttpResponse response) {
+      super(new PushbackReader(response.consumeContentReader()));
+    }
+
+    /**
+     * @return Whether the content is empty or only whitespace. Leading whitespace is skipped.
+     */
+    boolean isBlank() {
+      PushbackReader reader = (PushbackReader) in;
+      try {
+        int c;
+        do {
+          c = reader.read();
+        } while (c != -1 && Character.isWhitespace(c));
+
+        if (c == -1) {
+          return true;
+        }
+        reader.unread(c);
+        return false;
+      } catch (IOException e) {
+        throw new WebDriverException(e);
+      }
+    }
+
+    /**
+     * @return The content read so far (only its start, if it is long).
+     */
+    String getReadContent() {
+      return truncated ? kept + "..." : kept.toString();
+    }
+
+    @Override
+    public int read() throws IOException {
+      int c = super.read();
+      if (c != -1) {
+        keep(new char[] {(char) c}, 0, 1);
+      }
+      return c;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+      int read = super.read(buffer, offset, length);
+      if (read > 0) {
+        keep(buffer, offset, read);
+      }
+      return read;
+    }
+
+    private void keep(char[] buffer, int offset, int length) {
+      int toKeep = Math.min(length, MAX_KEPT - kept.length());
+      kept.append(buffer, offset, toKeep);
+      truncated |= toKeep < length;
+    }
+  }
 }
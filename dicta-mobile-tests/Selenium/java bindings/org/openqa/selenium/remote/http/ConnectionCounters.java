@@ -0,0 +1,100 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.http;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+/**
+ * A snapshot of how the connections of the {@link HttpClient}s created by a single
+ * {@link HttpClient.Factory} have been used, so that connection reuse can be verified.
+ */
+public final class ConnectionCounters {
+
+  /**
+   * Returned by factories that do not keep track of their connections.
+   */
+  public static final ConnectionCounters NONE = new ConnectionCounters(0, 0, 0, 0, 0);
+
+  private final long opened;
+  private final long reused;
+  private final long evicted;
+  private final long inFlight;
+  private final long idle;
+
+  public ConnectionCounters(long opened, long reused, long evicted, long inFlight, long idle) {
+    this.opened = opened;
+    this.reused = reused;
+    this.evicted = evicted;
+    this.inFlight = inFlight;
+    this.idle = idle;
+  }
+
+  /**
+   * @return The number of connections that have been opened.
+   */
+  public long getOpened() {
+    return opened;
+  }
+
+  /**
+   * @return The number of requests that were sent over a connection that was already open.
+   */
+  public long getReused() {
+    return reused;
+  }
+
+  /**
+   * @return The number of connections that have been closed, whether because they were idle for
+   *     too long, there were too many idle connections, or they could not be used again.
+   */
+  public long getEvicted() {
+    return evicted;
+  }
+
+  /**
+   * @return The number of requests whose responses have not been fully read yet.
+   */
+  public long getInFlight() {
+    return inFlight;
+  }
+
+  /**
+   * @return The number of open connections that are waiting to be used again.
+   */
+  public long getIdle() {
+    return idle;
+  }
+
+  public Map<String, Object> toJson() {
+    return ImmutableMap.of(
+        "opened", opened,
+        "reused", reused,
+        "evicted", evicted,
+        "inFlight", inFlight,
+        "idle", idle);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "opened: %d, reused: %d, evicted: %d, in flight: %d, idle: %d",
+        opened, reused, evicted, inFlight, idle);
+  }
+}
@@ -86,6 +86,14 @@ public interface HttpClient {
      * Closes idle clients.
      */
     void cleanupIdleClients();
+
+    /**
+     * Returns how the connections of the clients created by this factory have been used so far.
+     * Factories that do not keep track of their connections return {@link ConnectionCounters#NONE}.
+     */
+    default ConnectionCounters getConnectionCounters() {
+      return ConnectionCounters.NONE;
+    }
   }
 
   abstract class Builder {
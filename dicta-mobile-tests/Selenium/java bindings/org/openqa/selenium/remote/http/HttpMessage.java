@@ -28,6 +28,7 @@ import com.google.common.net.MediaType;
 import org.openqa.selenium.WebDriverException;
 
 import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -160,6 +161,17 @@ class HttpMessage {
     return new ByteArrayInputStream(getContent());
   }
 
+  /**
+   * Get a reader over the content that reads from the underlying content stream, rather than
+   * caching all of it first. Content that has already been cached is read from the cache.
+   */
+  public Reader consumeContentReader() {
+    InputStream stream = readContent == null
+                         ? consumeContentStream()
+                         : new ByteArrayInputStream(readContent);
+    return new BufferedReader(new InputStreamReader(stream, getContentEncoding()));
+  }
+
   /**
    * Get the underlying content stream, bypassing the caching mechanisms that allow it to be read
    * again.
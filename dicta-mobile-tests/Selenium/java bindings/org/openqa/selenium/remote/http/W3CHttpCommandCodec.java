@@ -87,6 +87,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -98,6 +100,15 @@ import java.util.stream.Stream;
  */
 public class W3CHttpCommandCodec extends AbstractHttpCommandCodec {
 
+  private static final Pattern CSS_SPECIAL_CHARACTERS =
+      Pattern.compile("([\\s'\"\\\\#.:;,!?+<>=~*^$|%&@`{}\\-\\/\\[\\]\\(\\)])");
+  // Escaping is the same for every lookup of a locator, and tests use the same few locators over
+  // and over. Cleared if it grows past this size, so that it can't grow without bound.
+  private static final int MAX_CACHED_CSS_ESCAPES = 1024;
+  // The atoms never change, so each is only read and wrapped into a script once.
+  private static final Map<String, String> atomScripts = new ConcurrentHashMap<>();
+
+  private final Map<String, String> cssEscapes = new ConcurrentHashMap<>();
   private final PointerInput mouse = new PointerInput(PointerInput.Kind.MOUSE, "mouse");
   private final KeyInput keyboard = new KeyInput("keyboard");
 
@@ -385,24 +396,32 @@ public class W3CHttpCommandCodec extends AbstractHttpCommandCodec {
   }
 
   private Map<String, ?> executeAtom(String atomFileName, Object... args) {
-    try {
-      String scriptName = "/org/openqa/selenium/remote/" + atomFileName;
-      URL url = getClass().getResource(scriptName);
-
-      String rawFunction = Resources.toString(url, StandardCharsets.UTF_8);
-      String script = String.format(
-        "return (%s).apply(null, arguments);",
-        rawFunction);
-      return toScript(script, args);
-    } catch (IOException | NullPointerException e) {
-      throw new WebDriverException(e);
-    }
+    String script = atomScripts.computeIfAbsent(atomFileName, fileName -> {
+      try {
+        String scriptName = "/org/openqa/selenium/remote/" + fileName;
+        URL url = getClass().getResource(scriptName);
+
+        String rawFunction = Resources.toString(url, StandardCharsets.UTF_8);
+        return escapeQuotes(String.format(
+          "return (%s).apply(null, arguments);",
+          rawFunction));
+      } catch (IOException | NullPointerException e) {
+        throw new WebDriverException(e);
+      }
+    });
+    return toEscapedScript(script, args);
   }
 
   private Map<String, ?> toScript(String script, Object... args) {
+    return toEscapedScript(escapeQuotes(script), args);
+  }
+
+  private static String escapeQuotes(String script) {
     // Escape the quote marks
-    script = script.replaceAll("\"", "\\\"");
+    return script.replaceAll("\"", "\\\"");
+  }
 
+  private Map<String, ?> toEscapedScript(String script, Object... args) {
     List<Object> convertedArgs = Stream.of(args).map(new WebElementToJsonConverter()).collect(
         Collectors.toList());
 
@@ -416,7 +435,19 @@ public class W3CHttpCommandCodec extends AbstractHttpCommandCodec {
   }
 
   private String cssEscape(String using) {
-    using = using.replaceAll("([\\s'\"\\\\#.:;,!?+<>=~*^$|%&@`{}\\-\\/\\[\\]\\(\\)])", "\\\\$1");
+    String escaped = cssEscapes.get(using);
+    if (escaped == null) {
+      if (cssEscapes.size() >= MAX_CACHED_CSS_ESCAPES) {
+        cssEscapes.clear();
+      }
+      escaped = escapeCss(using);
+      cssEscapes.put(using, escaped);
+    }
+    return escaped;
+  }
+
+  private static String escapeCss(String using) {
+    using = CSS_SPECIAL_CHARACTERS.matcher(using).replaceAll("\\\\$1");
     if (using.length() > 0 && Character.isDigit(using.charAt(0))) {
       using = "\\" + Integer.toString(30 + Integer.parseInt(using.substring(0,1))) + " " + using.substring(1);
     }
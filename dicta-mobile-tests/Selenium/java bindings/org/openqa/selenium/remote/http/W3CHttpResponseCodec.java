@@ -24,21 +24,28 @@ import static java.net.HttpURLConnection.HTTP_OK;
 import static org.openqa.selenium.json.Json.MAP_TYPE;
 import static org.openqa.selenium.json.Json.OBJECT_TYPE;
 
-import com.google.common.base.Strings;
 import com.google.common.base.Throwables;
 
 import org.openqa.selenium.UnhandledAlertException;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonType;
+import org.openqa.selenium.remote.Dialect;
 import org.openqa.selenium.remote.ErrorCodes;
+import org.openqa.selenium.remote.RemoteWebElement;
 import org.openqa.selenium.remote.Response;
 import org.openqa.selenium.remote.internal.JsonToWebElementConverter;
 
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -71,12 +78,13 @@ public class W3CHttpResponseCodec extends AbstractHttpResponseCodec {
 
   @Override
   public Response decode(HttpResponse encodedResponse) {
-    String content = encodedResponse.getContentString().trim();
-    log.fine(String.format(
-      "Decoding response. Response code was: %d and content: %s",
-      encodedResponse.getStatus(),
-      content));
-    String contentType = nullToEmpty(encodedResponse.getHeader(CONTENT_TYPE));
+    if (log.isLoggable(Level.FINE)) {
+      // Logging the content means reading all of it up front; otherwise it is decoded as it streams.
+      log.fine(String.format(
+        "Decoding response. Response code was: %d and content: %s",
+        encodedResponse.getStatus(),
+        encodedResponse.getContentString().trim()));
+    }
 
     Response response = new Response();
 
@@ -84,8 +92,10 @@ public class W3CHttpResponseCodec extends AbstractHttpResponseCodec {
     // {"error":"no such alert","message":"No tab modal was open when attempting to get the dialog text"}
     if (HTTP_OK != encodedResponse.getStatus()) {
       log.fine("Processing an error");
-      Map<String, Object> obj = json.toType(content, MAP_TYPE);
-
+      Map<String, Object> obj;
+      try (JsonInput input = json.newInput(encodedResponse.consumeContentReader())) {
+        obj = input.read(MAP_TYPE);
+      }
 
       Object w3cWrappedValue = obj.get("value");
       if (w3cWrappedValue instanceof Map && ((Map<?, ?>) w3cWrappedValue).containsKey("error")) {
@@ -126,15 +136,16 @@ public class W3CHttpResponseCodec extends AbstractHttpResponseCodec {
 
     response.setState("success");
     response.setStatus(ErrorCodes.SUCCESS);
-    if (encodedResponse.getContent().length > 0) {
-      if (contentType.startsWith("application/json") || Strings.isNullOrEmpty("")) {
-        Map<String, Object> parsed = json.toType(content, MAP_TYPE);
-        if (parsed.containsKey("value")) {
-          Object value = parsed.get("value");
+    try (JsonInput input = json.newInput(encodedResponse.consumeContentReader())) {
+      if (input.peek() != JsonType.END) {
+        // Read the body once, and unwrap the value from it rather than parsing it a second time.
+        Object parsed = input.read(OBJECT_TYPE);
+        if (parsed instanceof Map && ((Map<?, ?>) parsed).containsKey("value")) {
+          Object value = ((Map<?, ?>) parsed).get("value");
           response.setValue(value);
         } else {
           // Assume that the body of the response was the response.
-          response.setValue(json.toType(content, OBJECT_TYPE));
+          response.setValue(parsed);
         }
       }
     }
@@ -149,6 +160,99 @@ public class W3CHttpResponseCodec extends AbstractHttpResponseCodec {
     return response;
   }
 
+  /**
+   * Decodes the response to a find element(s) command. Element references are read straight into
+   * {@link RemoteWebElement}s, rather than into maps that are then converted into elements.
+   * Responses that are not successful JSON responses are decoded as usual.
+   *
+   * @param encodedResponse The response to decode.
+   * @return The decoded response.
+   */
+  public Response decodeElements(HttpResponse encodedResponse) {
+    String contentType = nullToEmpty(encodedResponse.getHeader(CONTENT_TYPE));
+    if (HTTP_OK != encodedResponse.getStatus() || !contentType.startsWith("application/json")) {
+      return decode(encodedResponse);
+    }
+
+    Response response = new Response();
+    response.setState("success");
+    response.setStatus(ErrorCodes.SUCCESS);
+
+    try (JsonInput input = json.newInput(encodedResponse.consumeContentReader())) {
+      input.beginObject();
+      while (input.hasNext()) {
+        if ("value".equals(input.nextName())) {
+          response.setValue(readElements(input));
+        } else {
+          input.skipValue();
+        }
+      }
+      input.endObject();
+    }
+
+    return response;
+  }
+
+  private Object readElements(JsonInput input) {
+    switch (input.peek()) {
+      case START_COLLECTION:
+        List<Object> elements = new ArrayList<>();
+        input.beginArray();
+        while (input.hasNext()) {
+          elements.add(readElements(input));
+        }
+        input.endArray();
+        return elements;
+
+      case START_MAP:
+        return readElement(input);
+
+      default:
+        return elementConverter.apply(input.read(OBJECT_TYPE));
+    }
+  }
+
+  private Object readElement(JsonInput input) {
+    String id = null;
+    Map<String, Object> otherValues = null;
+
+    input.beginObject();
+    while (input.hasNext()) {
+      String name = input.nextName();
+      if (isElementKey(name) && input.peek() == JsonType.STRING) {
+        if (id == null) {
+          id = input.nextString();
+        } else {
+          input.skipValue();
+        }
+      } else {
+        if (otherValues == null) {
+          otherValues = new LinkedHashMap<>();
+        }
+        otherValues.put(name, input.read(OBJECT_TYPE));
+      }
+    }
+    input.endObject();
+
+    if (id == null) {
+      // Not an element reference, so convert it as any other value
+      return elementConverter.apply(otherValues == null ? new HashMap<>() : otherValues);
+    }
+
+    RemoteWebElement element = new RemoteWebElement();
+    element.setId(id);
+    return element;
+  }
+
+  private static boolean isElementKey(String name) {
+    for (Dialect dialect : Dialect.values()) {
+      if (dialect.getEncodedElementKey().equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   protected Object getValueToEncode(Response response) {
     HashMap<Object, Object> toReturn = new HashMap<>();
@@ -17,28 +17,49 @@
 
 package org.openqa.selenium.remote.internal;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import com.google.common.base.Strings;
 
+import org.openqa.selenium.remote.http.ConnectionCounters;
 import org.openqa.selenium.remote.http.HttpClient;
 import org.openqa.selenium.remote.http.HttpRequest;
 import org.openqa.selenium.remote.http.HttpResponse;
 
+import okhttp3.Call;
+import okhttp3.Connection;
 import okhttp3.ConnectionPool;
 import okhttp3.Credentials;
+import okhttp3.EventListener;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.internal.http.UnrepeatableRequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
 import java.net.URL;
+import java.time.Duration;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class OkHttpClient implements HttpClient {
 
+  /**
+   * Request bodies longer than this are streamed rather than read into memory first.
+   */
+  private static final long STREAMING_THRESHOLD = 1024 * 1024;
+
   private final okhttp3.OkHttpClient client;
   private final URL baseUrl;
 
@@ -92,7 +113,10 @@ public class OkHttpClient implements HttpClient {
         String rawType = Optional.ofNullable(request.getHeader("Content-Type"))
             .orElse("application/json; charset=utf-8");
         MediaType type = MediaType.parse(rawType);
-        RequestBody body = RequestBody.create(type, request.getContent());
+        long length = contentLength(request);
+        RequestBody body = length > STREAMING_THRESHOLD
+                           ? new StreamingRequestBody(type, length, request.consumeContentStream())
+                           : RequestBody.create(type, request.getContent());
         builder.post(body);
         break;
 
@@ -103,7 +127,9 @@ public class OkHttpClient implements HttpClient {
     Response response = client.newCall(builder.build()).execute();
 
     HttpResponse toReturn = new HttpResponse();
-    toReturn.setContent(response.body().bytes());
+    // Hand over the body as a stream, so that it is decoded as it arrives rather than buffered
+    // first. Reading it to the end (or closing it) releases the connection.
+    toReturn.setContent(response.body().byteStream());
     toReturn.setStatus(response.code());
     response.headers().names().forEach(
         name -> response.headers(name).forEach(value -> toReturn.addHeader(name, value)));
@@ -111,9 +137,77 @@ public class OkHttpClient implements HttpClient {
     return toReturn;
   }
 
+  private static long contentLength(HttpRequest request) {
+    String length = request.getHeader("Content-Length");
+    try {
+      return length == null ? -1 : Long.parseLong(length);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Sends the content of a request as it is read. The content can only be read once, so OkHttp is
+   * told (through its {@link UnrepeatableRequestBody} marker) not to retry the request once the
+   * body has started to be sent.
+   */
+  private static class StreamingRequestBody extends RequestBody implements UnrepeatableRequestBody {
+
+    private final MediaType type;
+    private final long length;
+    private final InputStream content;
+
+    StreamingRequestBody(MediaType type, long length, InputStream content) {
+      this.type = type;
+      this.length = length;
+      this.content = content;
+    }
+
+    @Override
+    public MediaType contentType() {
+      return type;
+    }
+
+    @Override
+    public long contentLength() {
+      return length;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      try (Source source = Okio.source(content)) {
+        sink.writeAll(source);
+      }
+    }
+  }
+
+  /**
+   * Creates clients that share one pool of keep-alive connections. Unless given explicitly, the
+   * size of the pool is read from the {@code webdriver.http.pool.maxIdle} system property (the
+   * number of idle connections kept open, 5 by default) and how long idle connections are kept
+   * from {@code webdriver.http.pool.keepAlive} (in seconds, 300 by default). When many sessions
+   * are run in parallel, the pool should be able to hold at least one idle connection per session,
+   * otherwise connections are closed and opened again between commands.
+   */
   public static class Factory implements HttpClient.Factory {
 
-    private final ConnectionPool pool = new ConnectionPool();
+    private final ConnectionPool pool;
+    private final ConnectionListener listener = new ConnectionListener();
+
+    public Factory() {
+      this(
+          Integer.getInteger("webdriver.http.pool.maxIdle", 5),
+          Duration.ofSeconds(Long.getLong("webdriver.http.pool.keepAlive", 300)));
+    }
+
+    public Factory(int maxIdleConnections, Duration keepAlive) {
+      checkArgument(maxIdleConnections >= 0, "Number of idle connections cannot be negative");
+      Objects.requireNonNull(keepAlive, "Keep alive duration must be set");
+      checkArgument(!keepAlive.isNegative() && !keepAlive.isZero(),
+                    "Keep alive duration must be positive");
+
+      this.pool = new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), MILLISECONDS);
+    }
 
     @Override
     public Builder builder() {
@@ -122,6 +216,7 @@ public class OkHttpClient implements HttpClient {
         public HttpClient createClient(URL url) {
           okhttp3.OkHttpClient.Builder client = new okhttp3.OkHttpClient.Builder()
               .connectionPool(pool)
+              .eventListener(listener)
               .followRedirects(true)
               .followSslRedirects(true)
               .proxy(proxy)
@@ -164,5 +259,58 @@ public class OkHttpClient implements HttpClient {
     public void cleanupIdleClients() {
       pool.evictAll();
     }
+
+    @Override
+    public ConnectionCounters getConnectionCounters() {
+      long opened = listener.opened.get();
+      // Every connection the pool no longer holds has been closed
+      return new ConnectionCounters(
+          opened,
+          Math.max(0, listener.acquired.get() - opened),
+          Math.max(0, opened - pool.connectionCount()),
+          listener.inFlight.get(),
+          pool.idleConnectionCount());
+    }
+  }
+
+  /**
+   * Counts the connections and calls of all the clients of a {@link Factory}. A call acquires a
+   * connection whether it has just been opened or is reused, so the number of reuses is the number
+   * of acquisitions less the number of connections opened.
+   */
+  private static class ConnectionListener extends EventListener {
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+
+    @Override
+    public void callStart(Call call) {
+      inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void connectEnd(
+        Call call,
+        InetSocketAddress inetSocketAddress,
+        Proxy proxy,
+        Protocol protocol) {
+      opened.incrementAndGet();
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+      acquired.incrementAndGet();
+    }
+
+    @Override
+    public void callEnd(Call call) {
+      inFlight.decrementAndGet();
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+      inFlight.decrementAndGet();
+    }
   }
 }
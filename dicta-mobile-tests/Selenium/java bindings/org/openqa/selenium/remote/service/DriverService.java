@@ -20,6 +20,8 @@ package org.openqa.selenium.remote.service;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import com.google.common.base.Preconditions;
@@ -54,6 +56,11 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class DriverService {
 
+  /**
+   * How often the /status URL is polled while waiting for the server to start.
+   */
+  private static final long POLL_INTERVAL_MS = 20;
+
   /**
    * The base URL for the managed server.
    */
@@ -70,6 +77,20 @@ public class DriverService {
    */
   protected CommandLine process = null;
 
+  /**
+   * Watches the output of the current child process for {@link #getStartedMessage()}. Will be
+   * {@code null} if the server has no such message. Protected by {@link #lock}.
+   */
+  private StartedMessageWatcher startedMessageWatcher = null;
+
+  /**
+   * Whether this service holds the reservation of its port with {@link PortProber}, so that the
+   * port is not handed out to another service in this process. Only the holder releases the port:
+   * a service given a port that is already reserved (by another service using the same explicit
+   * port, for example) does not hold it. Protected by {@link #lock}.
+   */
+  private boolean holdingPort;
+
   private final String executable;
   private final ImmutableList<String> args;
   private final ImmutableMap<String, String> environment;
@@ -93,6 +114,9 @@ public class DriverService {
    this.environment = environment;
 
    this.url = getUrl(port);
+
+   // A port found by the builder is already reserved; the builder hands that reservation over
+   this.holdingPort = PortProber.reservePort(port);
  }
 
   protected List<String> getArgs() {
@@ -114,6 +138,48 @@ public class DriverService {
     return url;
   }
 
+  /**
+   * Reserves the port of this service with {@link PortProber}, unless it already holds it. If the
+   * port is reserved by someone else, this service does not hold it, and will not release it.
+   */
+  protected void reservePort() {
+    lock.lock();
+    try {
+      if (!holdingPort) {
+        holdingPort = PortProber.reservePort(url.getPort());
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Releases the port of this service with {@link PortProber}, if this service holds it.
+   */
+  protected void releasePort() {
+    lock.lock();
+    try {
+      if (holdingPort) {
+        PortProber.releasePort(url.getPort());
+        holdingPort = false;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Takes over the reservation of a port that the builder found for this service.
+   */
+  private void holdFoundPort() {
+    lock.lock();
+    try {
+      holdingPort = true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   /**
    *
    * @param exeName Name of the executable file to look for in PATH
@@ -180,9 +246,17 @@ public class DriverService {
       if (process != null) {
         return;
       }
+      reservePort();
       process = new CommandLine(this.executable, args.toArray(new String[] {}));
       process.setEnvironmentVariables(environment);
-      process.copyOutputTo(getOutputStream());
+      String startedMessage = getStartedMessage();
+      if (startedMessage == null) {
+        startedMessageWatcher = null;
+        process.copyOutputTo(getOutputStream());
+      } else {
+        startedMessageWatcher = new StartedMessageWatcher(getOutputStream(), startedMessage);
+        process.copyOutputTo(startedMessageWatcher);
+      }
       process.executeAsync();
 
       waitUntilAvailable();
@@ -191,15 +265,52 @@ public class DriverService {
     }
   }
 
+  /**
+   * Returns the line the driver server writes to its output once it is ready to handle commands.
+   * While the server starts, its output is watched for this line, so that it can be used as soon as
+   * it is ready. Its /status URL is still polled in case the line is never written (for example,
+   * when the server is told to be silent).
+   *
+   * @return The line that marks the server as started, or {@code null} if the server has none and
+   *     can only be polled.
+   */
+  protected String getStartedMessage() {
+    return null;
+  }
+
   protected void waitUntilAvailable() throws MalformedURLException {
+    URL status = new URL(url.toString() + "/status");
+    UrlChecker checker = new UrlChecker();
+    long start = System.nanoTime();
+    long timeout = SECONDS.toNanos(20);
+
     try {
-      URL status = new URL(url.toString() + "/status");
-      new UrlChecker().waitUntilAvailable(20, SECONDS, status);
-    } catch (UrlChecker.TimeoutException e) {
-      if (process != null && !process.isRunning()) {
-        process.checkForError();
+      while (true) {
+        if (startedMessageWatcher != null) {
+          if (startedMessageWatcher.awaitMessage(POLL_INTERVAL_MS, MILLISECONDS)) {
+            return;
+          }
+        } else {
+          MILLISECONDS.sleep(POLL_INTERVAL_MS);
+        }
+
+        if (checker.isAvailable(status)) {
+          return;
+        }
+        if (System.nanoTime() - start > timeout) {
+          if (process != null && !process.isRunning()) {
+            process.checkForError();
+          }
+          throw new WebDriverException(
+              "Timed out waiting for driver server to start.",
+              new UrlChecker.TimeoutException(String.format(
+                  "Timed out waiting for [%s] to be available after %d ms",
+                  status, MILLISECONDS.convert(System.nanoTime() - start, NANOSECONDS)), null));
+        }
       }
-      throw new WebDriverException("Timed out waiting for driver server to start.", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new WebDriverException("Interrupted while waiting for driver server to start.", e);
     }
   }
 
@@ -232,6 +343,8 @@ public class DriverService {
       process.destroy();
     } finally {
       process = null;
+      startedMessageWatcher = null;
+      releasePort();
       lock.unlock();
     }
 
@@ -347,17 +460,32 @@ public class DriverService {
      * @return The new service object.
      */
     public DS build() {
-      if (port == 0) {
+      boolean foundPort = port == 0;
+      if (foundPort) {
         port = PortProber.findFreePort();
       }
 
-      if (exe == null) {
-        exe = findDefaultExecutable();
-      }
+      DS service;
+      try {
+        if (exe == null) {
+          exe = findDefaultExecutable();
+        }
 
-      ImmutableList<String> args = createArgs();
+        ImmutableList<String> args = createArgs();
 
-      return createDriverService(exe, port, args, environment);
+        service = createDriverService(exe, port, args, environment);
+      } catch (RuntimeException | Error e) {
+        if (foundPort) {
+          PortProber.releasePort(port);
+        }
+        throw e;
+      }
+
+      // findFreePort reserved the port; the service releases it once it is stopped
+      if (foundPort) {
+        ((DriverService) service).holdFoundPort();
+      }
+      return service;
     }
 
     protected abstract File findDefaultExecutable();
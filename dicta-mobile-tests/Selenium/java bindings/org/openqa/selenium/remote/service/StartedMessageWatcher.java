@@ -0,0 +1,97 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passes the output of a driver server on to another stream, watching it for the line the server
+ * writes once it is ready to handle commands.
+ */
+class StartedMessageWatcher extends OutputStream {
+
+  private static final int MAX_LINE_LENGTH = 4096;
+
+  private final OutputStream out;
+  private final String message;
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final StringBuilder line = new StringBuilder();
+
+  StartedMessageWatcher(OutputStream out, String message) {
+    this.out = out;
+    this.message = message;
+  }
+
+  /**
+   * Waits for the server to write the message.
+   *
+   * @return Whether the message was written before the timeout.
+   */
+  boolean awaitMessage(long timeout, TimeUnit unit) throws InterruptedException {
+    return started.await(timeout, unit);
+  }
+
+  // Both stdout and stderr of the server are pumped into this stream, each on its own thread.
+  @Override
+  public synchronized void write(int b) throws IOException {
+    out.write(b);
+    watch(b);
+  }
+
+  @Override
+  public synchronized void write(byte[] b, int off, int len) throws IOException {
+    out.write(b, off, len);
+    if (started.getCount() == 0) {
+      return;
+    }
+    for (int i = off; i < off + len; i++) {
+      watch(b[i]);
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  private void watch(int b) {
+    if (started.getCount() == 0) {
+      return;
+    }
+
+    // The message is plain ASCII, so there is no need to decode the output properly.
+    char c = (char) (b & 0xff);
+    if (c != '\n' && c != '\r' && line.length() < MAX_LINE_LENGTH) {
+      line.append(c);
+      return;
+    }
+
+    if (line.indexOf(message) != -1) {
+      started.countDown();
+    }
+    line.setLength(0);
+  }
+}
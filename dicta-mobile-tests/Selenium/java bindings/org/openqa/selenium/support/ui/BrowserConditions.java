@@ -0,0 +1,547 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.support.ui;
+
+import com.google.common.collect.ImmutableList;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.FindsByClassName;
+import org.openqa.selenium.internal.FindsByCssSelector;
+import org.openqa.selenium.internal.FindsById;
+import org.openqa.selenium.internal.FindsByLinkText;
+import org.openqa.selenium.internal.FindsByName;
+import org.openqa.selenium.internal.FindsByTagName;
+import org.openqa.selenium.internal.FindsByXPath;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * {@link ExpectedCondition}s that wait inside the page rather than by polling it. Each evaluation
+ * of one of these conditions is a single asynchronous script, which checks the page every time
+ * its DOM changes and on every animation frame, and returns as soon as the condition is met or
+ * the given timeout is up. Used with a {@link FluentWait} whose timeout is no longer than the
+ * condition's, a wait therefore takes one round trip to the browser, and ends within a frame of
+ * the page getting into the expected state.
+ *
+ * <p>Visibility is decided in the page, which only approximates
+ * {@link WebElement#isDisplayed()}: an element is visible if it takes up space on the page, and
+ * neither it nor its ancestors are hidden through {@code visibility} or {@code opacity}.
+ *
+ * <p>The timeout of the conditions should be shorter than the driver's script timeout. If the
+ * script times out anyway, fails for any reason other than the page being unloaded, or a locator
+ * cannot be translated into the page (custom {@link By} implementations, for example), the
+ * condition falls back to its counterpart in {@link ExpectedConditions}, which is polled as usual.
+ * Errors such as an invalid selector are therefore reported by that counterpart.
+ */
+public class BrowserConditions {
+
+  private final static Logger log = Logger.getLogger(BrowserConditions.class.getName());
+
+  /**
+   * How long a condition waits in the page if no timeout is given.
+   */
+  private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+  private static final String WAIT_SCRIPT = String.join("\n",
+      "var kind = arguments[0], locators = arguments[1], target = arguments[2];",
+      "var timeout = arguments[3], done = arguments[arguments.length - 1];",
+      "function find(locator) {",
+      "  var using = locator[0], value = locator[1];",
+      "  function attribute(name) {",
+      "    return document.querySelector(",
+      "        '[' + name + '=\"' + value.replace(/[\"\\\\]/g, '\\\\$&') + '\"]');",
+      "  }",
+      "  function link(partial) {",
+      "    var links = document.getElementsByTagName('a');",
+      "    for (var i = 0; i < links.length; i++) {",
+      "      var text = (links[i].innerText || links[i].textContent).trim();",
+      "      if (partial ? text.indexOf(value) != -1 : text == value) { return links[i]; }",
+      "    }",
+      "    return null;",
+      "  }",
+      "  switch (using) {",
+      "    case 'id': return attribute('id');",
+      "    case 'name': return attribute('name');",
+      "    case 'css selector': return document.querySelector(value);",
+      "    case 'class name': return document.getElementsByClassName(value)[0] || null;",
+      "    case 'tag name': return document.getElementsByTagName(value)[0] || null;",
+      "    case 'link text': return link(false);",
+      "    case 'partial link text': return link(true);",
+      "    case 'xpath': return document.evaluate(",
+      "        value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;",
+      "  }",
+      "  return null;",
+      "}",
+      "function visible(element) {",
+      "  var rect = element.getBoundingClientRect();",
+      "  if (!element.getClientRects().length || rect.width <= 0 || rect.height <= 0) {",
+      "    return false;",
+      "  }",
+      "  var style = window.getComputedStyle(element);",
+      "  if (style.visibility == 'hidden' || style.visibility == 'collapse') { return false; }",
+      "  for (var e = element; e && e.nodeType == 1; e = e.parentNode) {",
+      "    if (window.getComputedStyle(e).opacity == '0') { return false; }",
+      "  }",
+      "  return true;",
+      "}",
+      "function check() {",
+      "  if (kind == 'stale') {",
+      "    return document.documentElement.contains(target) ? null : {value: true};",
+      "  }",
+      "  var i, element;",
+      "  if (kind == 'invisible') {",
+      "    for (i = 0; i < locators.length; i++) {",
+      "      element = find(locators[i]);",
+      "      if (element && visible(element)) { return null; }",
+      "    }",
+      "    return {value: true};",
+      "  }",
+      "  for (i = 0; i < locators.length; i++) {",
+      "    element = find(locators[i]);",
+      "    if (element && (kind == 'present' || visible(element))) { return {value: element}; }",
+      "  }",
+      "  return null;",
+      "}",
+      "var result = check();",
+      "if (result) { done(result.value); return; }",
+      "var finished = false;",
+      "function finish(value) {",
+      "  if (finished) { return; }",
+      "  finished = true;",
+      "  observer.disconnect();",
+      "  clearTimeout(timer);",
+      "  done(value);",
+      "}",
+      "function onChange() {",
+      "  if (finished) { return; }",
+      "  var result = check();",
+      "  if (result) { finish(result.value); }",
+      "}",
+      "function onFrame() {",
+      "  onChange();",
+      "  if (!finished) { requestAnimationFrame(onFrame); }",
+      "}",
+      // DOM changes are caught as they happen; the frames catch changes of layout and style
+      // that are not made through the DOM (stylesheets loading, transitions ending...)
+      "var observer = new MutationObserver(onChange);",
+      "observer.observe(document.documentElement, {",
+      "    childList: true, subtree: true, attributes: true, characterData: true});",
+      "var timer = setTimeout(function() { finish(null); }, timeout);",
+      "requestAnimationFrame(onFrame);");
+
+  private BrowserConditions() {
+    // Utility class
+  }
+
+  /**
+   * An expectation for checking that an element is present on the DOM of a page, waited for in the
+   * page itself.
+   *
+   * @param locator used to find the element
+   * @return the WebElement once it is located
+   * @see ExpectedConditions#presenceOfElementLocated(By)
+   */
+  public static ExpectedCondition<WebElement> presenceOfElementLocated(By locator) {
+    return presenceOfElementLocated(locator, DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * An expectation for checking that an element is present on the DOM of a page, waited for in the
+   * page itself.
+   *
+   * @param locator used to find the element
+   * @param timeout how long to wait in the page for each evaluation of the condition
+   * @return the WebElement once it is located
+   * @see ExpectedConditions#presenceOfElementLocated(By)
+   */
+  public static ExpectedCondition<WebElement> presenceOfElementLocated(
+      By locator,
+      Duration timeout) {
+    return new InPageCondition<>(
+        "present",
+        ImmutableList.of(locator),
+        null,
+        timeout,
+        WebElement.class,
+        null,
+        ExpectedConditions.presenceOfElementLocated(locator),
+        "presence of element located by: " + locator);
+  }
+
+  /**
+   * An expectation for checking that an element is present on the DOM of a page and visible,
+   * waited for in the page itself.
+   *
+   * @param locator used to find the element
+   * @return the WebElement once it is located and visible
+   * @see ExpectedConditions#visibilityOfElementLocated(By)
+   */
+  public static ExpectedCondition<WebElement> visibilityOfElementLocated(By locator) {
+    return visibilityOfElementLocated(locator, DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * An expectation for checking that an element is present on the DOM of a page and visible,
+   * waited for in the page itself.
+   *
+   * @param locator used to find the element
+   * @param timeout how long to wait in the page for each evaluation of the condition
+   * @return the WebElement once it is located and visible
+   * @see ExpectedConditions#visibilityOfElementLocated(By)
+   */
+  public static ExpectedCondition<WebElement> visibilityOfElementLocated(
+      By locator,
+      Duration timeout) {
+    return visibilityOfAnyElementLocated(timeout, locator);
+  }
+
+  /**
+   * An expectation for checking that the element found by at least one of several locators is
+   * visible, waited for in the page itself. Useful for pages that can end up in different states
+   * (results or no results, for example).
+   *
+   * @param timeout how long to wait in the page for each evaluation of the condition
+   * @param locators used to find the elements
+   * @return the first of the WebElements to be visible, in the order of the locators
+   */
+  public static ExpectedCondition<WebElement> visibilityOfAnyElementLocated(
+      Duration timeout,
+      By... locators) {
+    List<By> locatorList = ImmutableList.copyOf(locators);
+    return new InPageCondition<>(
+        "visible",
+        locatorList,
+        null,
+        timeout,
+        WebElement.class,
+        null,
+        driver -> {
+          for (By locator : locatorList) {
+            try {
+              WebElement element = driver.findElement(locator);
+              if (element.isDisplayed()) {
+                return element;
+              }
+            } catch (InvalidSelectorException e) {
+              throw e;
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+              // Try the next one
+            }
+          }
+          return null;
+        },
+        locatorList.size() == 1
+            ? "visibility of element located by " + locatorList.get(0)
+            : "visibility of any element located by " + locatorList);
+  }
+
+  /**
+   * An expectation for checking that an element is either invisible or not present on the DOM,
+   * waited for in the page itself.
+   *
+   * @param locator used to find the element
+   * @return true once the element is invisible or gone
+   * @see ExpectedConditions#invisibilityOfElementLocated(By)
+   */
+  public static ExpectedCondition<Boolean> invisibilityOfElementLocated(By locator) {
+    return invisibilityOfElementLocated(locator, DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * An expectation for checking that an element is either invisible or not present on the DOM,
+   * waited for in the page itself.
+   *
+   * @param locator used to find the element
+   * @param timeout how long to wait in the page for each evaluation of the condition
+   * @return true once the element is invisible or gone
+   * @see ExpectedConditions#invisibilityOfElementLocated(By)
+   */
+  public static ExpectedCondition<Boolean> invisibilityOfElementLocated(
+      By locator,
+      Duration timeout) {
+    return new InPageCondition<>(
+        "invisible",
+        ImmutableList.of(locator),
+        null,
+        timeout,
+        Boolean.class,
+        false,
+        ExpectedConditions.invisibilityOfElementLocated(locator),
+        "element to no longer be visible: " + locator);
+  }
+
+  /**
+   * Wait until an element is no longer attached to the DOM, waited for in the page itself.
+   *
+   * @param element The element to wait for.
+   * @return true once the element is no longer attached to the DOM
+   * @see ExpectedConditions#stalenessOf(WebElement)
+   */
+  public static ExpectedCondition<Boolean> stalenessOf(WebElement element) {
+    return stalenessOf(element, DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * Wait until an element is no longer attached to the DOM, waited for in the page itself.
+   *
+   * @param element The element to wait for.
+   * @param timeout how long to wait in the page for each evaluation of the condition
+   * @return true once the element is no longer attached to the DOM
+   * @see ExpectedConditions#stalenessOf(WebElement)
+   */
+  public static ExpectedCondition<Boolean> stalenessOf(WebElement element, Duration timeout) {
+    Objects.requireNonNull(element, "Element must be set");
+    return new InPageCondition<>(
+        "stale",
+        ImmutableList.of(),
+        element,
+        timeout,
+        Boolean.class,
+        false,
+        ExpectedConditions.stalenessOf(element),
+        String.format("element (%s) to become stale", element));
+  }
+
+  private static class InPageCondition<T> implements ExpectedCondition<T> {
+
+    private final String kind;
+    private final List<By> locators;
+    private final WebElement target;
+    private final long timeoutMillis;
+    private final Class<T> resultType;
+    private final T notMet;
+    private final ExpectedCondition<T> fallback;
+    private final String description;
+    private List<List<String>> remoteLocators;
+    private boolean polling;
+
+    InPageCondition(
+        String kind,
+        List<By> locators,
+        WebElement target,
+        Duration timeout,
+        Class<T> resultType,
+        T notMet,
+        ExpectedCondition<T> fallback,
+        String description) {
+      Objects.requireNonNull(timeout, "Timeout must be set");
+      this.kind = kind;
+      this.locators = locators;
+      this.target = target;
+      this.timeoutMillis = Math.max(0, timeout.toMillis());
+      this.resultType = resultType;
+      this.notMet = notMet;
+      this.fallback = fallback;
+      this.description = description;
+    }
+
+    @Override
+    public T apply(WebDriver driver) {
+      if (!polling && remoteLocators == null) {
+        remoteLocators = toRemoteLocators(locators);
+        polling = remoteLocators == null || !(driver instanceof JavascriptExecutor);
+      }
+      if (polling) {
+        return fallback.apply(driver);
+      }
+
+      Object result;
+      try {
+        result = ((JavascriptExecutor) driver).executeAsyncScript(
+            WAIT_SCRIPT, kind, remoteLocators, target, timeoutMillis);
+      } catch (ScriptTimeoutException e) {
+        log.fine("Waiting in the page timed out, polling instead: " + e.getMessage());
+        polling = true;
+        return fallback.apply(driver);
+      } catch (StaleElementReferenceException e) {
+        if (target == null) {
+          throw e;
+        }
+        // The element went stale before the script could even be started
+        return resultType.cast(Boolean.TRUE);
+      } catch (JavascriptException e) {
+        if (!isUnload(e)) {
+          // The script could not wait in this page (an invalid selector, for example). Polling
+          // reports the error as the driver would, or carries on if the locator is fine.
+          log.fine("Waiting in the page failed, polling instead: " + e.getMessage());
+          polling = true;
+        }
+        // Otherwise the page was unloaded while the script was waiting in it; check the new one
+        return fallback.apply(driver);
+      }
+
+      return resultType.isInstance(result) ? resultType.cast(result) : notMet;
+    }
+
+    private static boolean isUnload(JavascriptException e) {
+      // "document unloaded while waiting for result" (chromedriver), "Document was unloaded"
+      // (geckodriver)
+      String message = e.getMessage();
+      return message != null && message.toLowerCase().contains("unloaded");
+    }
+
+    @Override
+    public String toString() {
+      return description + " (waited for in the page)";
+    }
+  }
+
+  /**
+   * Translates locators into the strategy and value they use to find elements remotely, by having
+   * each of them find its elements in a context that only records how it was asked to search.
+   * Only the locators created by {@link By}'s own factory methods are translated; others may
+   * search more than once, or filter what they find.
+   *
+   * @return the strategy and value of each locator, or null if one of the locators could not be
+   *     translated.
+   */
+  private static List<List<String>> toRemoteLocators(List<By> locators) {
+    ImmutableList.Builder<List<String>> remote = ImmutableList.builder();
+    for (By locator : locators) {
+      if (locator.getClass().getDeclaringClass() != By.class) {
+        return null;
+      }
+      LocatorRecorder recorder = new LocatorRecorder();
+      try {
+        locator.findElements(recorder);
+      } catch (RuntimeException e) {
+        return null;
+      }
+      if (recorder.recorded == null) {
+        return null;
+      }
+      remote.add(recorder.recorded);
+    }
+    return remote.build();
+  }
+
+  @SuppressWarnings("deprecation")
+  private static class LocatorRecorder implements SearchContext, FindsById, FindsByName,
+      FindsByClassName, FindsByCssSelector, FindsByTagName, FindsByLinkText, FindsByXPath {
+
+    private List<String> recorded;
+
+    private List<WebElement> record(String using, String value) {
+      recorded = Arrays.asList(using, value);
+      return ImmutableList.of();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+      return by.findElements(this);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+      throw new NoSuchElementException("Only records how elements are searched for");
+    }
+
+    @Override
+    public List<WebElement> findElementsById(String using) {
+      return record("id", using);
+    }
+
+    @Override
+    public WebElement findElementById(String using) {
+      return findElement(null);
+    }
+
+    @Override
+    public List<WebElement> findElementsByName(String using) {
+      return record("name", using);
+    }
+
+    @Override
+    public WebElement findElementByName(String using) {
+      return findElement(null);
+    }
+
+    @Override
+    public List<WebElement> findElementsByClassName(String using) {
+      return record("class name", using);
+    }
+
+    @Override
+    public WebElement findElementByClassName(String using) {
+      return findElement(null);
+    }
+
+    @Override
+    public List<WebElement> findElementsByCssSelector(String using) {
+      return record("css selector", using);
+    }
+
+    @Override
+    public WebElement findElementByCssSelector(String using) {
+      return findElement(null);
+    }
+
+    @Override
+    public List<WebElement> findElementsByTagName(String using) {
+      return record("tag name", using);
+    }
+
+    @Override
+    public WebElement findElementByTagName(String using) {
+      return findElement(null);
+    }
+
+    @Override
+    public List<WebElement> findElementsByLinkText(String using) {
+      return record("link text", using);
+    }
+
+    @Override
+    public WebElement findElementByLinkText(String using) {
+      return findElement(null);
+    }
+
+    @Override
+    public List<WebElement> findElementsByPartialLinkText(String using) {
+      return record("partial link text", using);
+    }
+
+    @Override
+    public WebElement findElementByPartialLinkText(String using) {
+      return findElement(null);
+    }
+
+    @Override
+    public List<WebElement> findElementsByXPath(String using) {
+      return record("xpath", using);
+    }
+
+    @Override
+    public WebElement findElementByXPath(String using) {
+      return findElement(null);
+    }
+  }
+}
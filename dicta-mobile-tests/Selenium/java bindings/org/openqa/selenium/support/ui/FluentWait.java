@@ -86,7 +86,9 @@ public class FluentWait<T> implements Wait<T> {
 
   private Duration timeout = DEFAULT_WAIT_DURATION;
   private Duration interval = DEFAULT_WAIT_DURATION;
+  private PollingStrategy pollingStrategy = null;
   private Supplier<String> messageSupplier = () -> null;
+  private WaitStatistics lastStatistics = null;
 
   private List<Class<? extends Throwable>> ignoredExceptions = new ArrayList<>();
 
@@ -186,6 +188,21 @@ public class FluentWait<T> implements Wait<T> {
    */
   public FluentWait<T> pollingEvery(Duration interval) {
     this.interval = interval;
+    this.pollingStrategy = null;
+    return this;
+  }
+
+  /**
+   * Sets how long to sleep between evaluations of the condition, instead of a fixed interval.
+   * Sleeps never go past the timeout, so the condition is always evaluated one last time as the
+   * timeout expires.
+   *
+   * @param pollingStrategy Decides how long each sleep is.
+   * @return A self reference.
+   * @see PollingStrategy
+   */
+  public FluentWait<T> pollingWith(PollingStrategy pollingStrategy) {
+    this.pollingStrategy = requireNonNull(pollingStrategy, "Polling strategy must be set");
     return this;
   }
 
@@ -241,13 +258,23 @@ public class FluentWait<T> implements Wait<T> {
    */
   @Override
   public <V> V until(Function<? super T, V> isTrue) {
-    Instant end = clock.instant().plus(timeout);
+    Instant start = clock.instant();
+    Instant end = start.plus(timeout);
 
+    int polls = 0;
+    Duration evaluationTime = Duration.ZERO;
+    Duration lastSleep = Duration.ZERO;
     Throwable lastException;
     while (true) {
+      Instant evaluationStart = clock.instant();
       try {
+        polls++;
         V value = isTrue.apply(input);
         if (value != null && (Boolean.class != value.getClass() || Boolean.TRUE.equals(value))) {
+          Instant now = clock.instant();
+          evaluationTime = evaluationTime.plus(Duration.between(evaluationStart, now));
+          lastStatistics = new WaitStatistics(
+              polls, Duration.between(start, now), evaluationTime, lastSleep, false);
           return value;
         }
 
@@ -259,21 +286,40 @@ public class FluentWait<T> implements Wait<T> {
         lastException = propagateIfNotIgnored(e);
       }
 
+      Instant now = clock.instant();
+      Duration lastEvaluation = Duration.between(evaluationStart, now);
+      evaluationTime = evaluationTime.plus(lastEvaluation);
+
       // Check the timeout after evaluating the function to ensure conditions
       // with a zero timeout can succeed.
-      if (end.isBefore(clock.instant())) {
+      if (end.isBefore(now)) {
+        lastStatistics = new WaitStatistics(
+            polls, Duration.between(start, now), evaluationTime, Duration.between(end, now), true);
+
         String message = messageSupplier != null ?
                          messageSupplier.get() : null;
 
         String timeoutMessage = String.format(
-            "Expected condition failed: %s (tried for %d second(s) with %d milliseconds interval)",
+            "Expected condition failed: %s (tried for %d second(s) with %s)",
             message == null ? "waiting for " + isTrue : message,
-            timeout.getSeconds(), interval.toMillis());
+            timeout.getSeconds(),
+            pollingStrategy == null
+                ? interval.toMillis() + " milliseconds interval"
+                : polls + " polls");
         throw timeoutException(timeoutMessage, lastException);
       }
 
       try {
-        sleeper.sleep(interval);
+        if (pollingStrategy == null) {
+          lastSleep = interval;
+        } else {
+          lastSleep = pollingStrategy.nextInterval(polls, lastEvaluation);
+          Duration remaining = Duration.between(now, end);
+          if (lastSleep.compareTo(remaining) > 0) {
+            lastSleep = remaining;
+          }
+        }
+        sleeper.sleep(lastSleep);
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
         throw new WebDriverException(e);
@@ -281,6 +327,14 @@ public class FluentWait<T> implements Wait<T> {
     }
   }
 
+  /**
+   * @return How the last call to {@link #until(Function)} went, or null if it has not been called
+   *     yet. Not set if the condition threw an exception that was not ignored.
+   */
+  public WaitStatistics getLastWaitStatistics() {
+    return lastStatistics;
+  }
+
   private Throwable propagateIfNotIgnored(Throwable e) {
     for (Class<? extends Throwable> ignoredException : ignoredExceptions) {
       if (ignoredException.isInstance(e)) {
@@ -0,0 +1,146 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.support.ui;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides how long a {@link FluentWait} sleeps between two evaluations of its condition.
+ * Strategies keep no state of their own, so a single instance can be shared by any number of waits.
+ *
+ * <p>
+ * Sample usage: <pre>
+ *   // Checking again after 50ms, then backing off to once every 500ms at most
+ *   Wait&lt;WebDriver&gt; wait = new WebDriverWait(driver, 10)
+ *       .pollingWith(PollingStrategy.exponential(Duration.ofMillis(50), Duration.ofMillis(500))
+ *                        .withJitter(0.2));
+ * </pre>
+ */
+@FunctionalInterface
+public interface PollingStrategy {
+
+  /**
+   * @param polls          How many times the condition has been evaluated so far (at least 1).
+   * @param lastEvaluation How long the last evaluation of the condition took.
+   * @return How long to sleep before evaluating the condition again.
+   */
+  Duration nextInterval(int polls, Duration lastEvaluation);
+
+  /**
+   * @param fraction How much each interval may randomly vary, as a fraction of it (between 0 and 1).
+   * @return A strategy which spreads the intervals of this one, so that waits started together
+   *     do not keep polling together.
+   */
+  default PollingStrategy withJitter(double fraction) {
+    checkArgument(fraction >= 0 && fraction <= 1, "Jitter must be between 0 and 1: %s", fraction);
+    PollingStrategy base = this;
+    return (polls, lastEvaluation) -> {
+      long nanos = base.nextInterval(polls, lastEvaluation).toNanos();
+      double factor = 1 + fraction * ThreadLocalRandom.current().nextDouble(-1, 1);
+      return Duration.ofNanos((long) (nanos * factor));
+    };
+  }
+
+  /**
+   * @param interval How long to sleep between evaluations.
+   * @return A strategy which always sleeps for the same time, as {@link
+   *     FluentWait#pollingEvery(Duration)} does.
+   */
+  static PollingStrategy fixed(Duration interval) {
+    requireNonNull(interval, "Interval must be set");
+    return (polls, lastEvaluation) -> interval;
+  }
+
+  /**
+   * @param first How long to sleep after the first evaluation.
+   * @param max   The longest to sleep between evaluations.
+   * @return A strategy which doubles the interval after every evaluation, so that conditions that
+   *     are met quickly are noticed quickly, while slow ones are not checked needlessly often.
+   */
+  static PollingStrategy exponential(Duration first, Duration max) {
+    requireNonNull(first, "First interval must be set");
+    requireNonNull(max, "Maximum interval must be set");
+    checkArgument(!first.isNegative() && first.compareTo(max) <= 0,
+                  "First interval must be between 0 and the maximum interval");
+    return (polls, lastEvaluation) -> {
+      // Past 2^30 the interval has long reached the maximum anyway
+      Duration interval = first.multipliedBy(1L << Math.min(polls - 1, 30));
+      return interval.compareTo(max) > 0 || interval.isNegative() ? max : interval;
+    };
+  }
+
+  /**
+   * Sleeps in proportion to how long the driver takes to answer commands, so that a wait spends
+   * most of its time sleeping rather than keeping the driver busy, without polling a fast driver
+   * needlessly slowly. The time is the average round trip of the driver's
+   * {@link HttpCommandExecutor}, or, if the driver does not have one, how long the last evaluation
+   * of the condition took.
+   *
+   * @param driver     The driver the wait evaluates its condition against.
+   * @param multiplier How many round trips to sleep between evaluations.
+   * @param min        The shortest to sleep between evaluations.
+   * @param max        The longest to sleep between evaluations.
+   * @return A strategy which adapts to the latency of the driver.
+   */
+  static PollingStrategy latencyAware(
+      WebDriver driver,
+      double multiplier,
+      Duration min,
+      Duration max) {
+    requireNonNull(min, "Minimum interval must be set");
+    requireNonNull(max, "Maximum interval must be set");
+    checkArgument(multiplier > 0, "Multiplier must be positive: %s", multiplier);
+    checkArgument(!min.isNegative() && min.compareTo(max) <= 0,
+                  "Minimum interval must be between 0 and the maximum interval");
+
+    WebDriver unwrapped = driver;
+    while (unwrapped instanceof WrapsDriver) {
+      unwrapped = ((WrapsDriver) unwrapped).getWrappedDriver();
+    }
+    CommandExecutor executor = unwrapped instanceof RemoteWebDriver
+                               ? ((RemoteWebDriver) unwrapped).getCommandExecutor()
+                               : null;
+    HttpCommandExecutor httpExecutor = executor instanceof HttpCommandExecutor
+                                       ? (HttpCommandExecutor) executor
+                                       : null;
+
+    return (polls, lastEvaluation) -> {
+      Duration roundTrip = httpExecutor == null
+                           ? Duration.ZERO
+                           : httpExecutor.getAverageRoundTripTime();
+      if (roundTrip.isZero()) {
+        roundTrip = lastEvaluation;
+      }
+      Duration interval = Duration.ofNanos((long) (roundTrip.toNanos() * multiplier));
+      if (interval.compareTo(min) < 0) {
+        return min;
+      }
+      return interval.compareTo(max) > 0 ? max : interval;
+    };
+  }
+}
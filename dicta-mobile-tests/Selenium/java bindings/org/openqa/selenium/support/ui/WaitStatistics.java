@@ -0,0 +1,94 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.support.ui;
+
+import java.time.Duration;
+
+/**
+ * How a single call to {@link FluentWait#until(java.util.function.Function)} went, for tuning the
+ * timeout and polling of waits.
+ */
+public class WaitStatistics {
+
+  private final int polls;
+  private final Duration totalWait;
+  private final Duration evaluationTime;
+  private final Duration overshoot;
+  private final boolean timedOut;
+
+  public WaitStatistics(
+      int polls,
+      Duration totalWait,
+      Duration evaluationTime,
+      Duration overshoot,
+      boolean timedOut) {
+    this.polls = polls;
+    this.totalWait = totalWait;
+    this.evaluationTime = evaluationTime;
+    this.overshoot = overshoot;
+    this.timedOut = timedOut;
+  }
+
+  /**
+   * @return How many times the condition was evaluated.
+   */
+  public int getPolls() {
+    return polls;
+  }
+
+  /**
+   * @return How long the wait took altogether.
+   */
+  public Duration getTotalWait() {
+    return totalWait;
+  }
+
+  /**
+   * @return How much of the wait was spent evaluating the condition (the rest was spent sleeping).
+   */
+  public Duration getEvaluationTime() {
+    return evaluationTime;
+  }
+
+  /**
+   * @return How late the wait may have ended. If the condition was met, this is the last sleep
+   *     before it was, which is the longest it could have been met without being noticed. If the
+   *     wait timed out, this is how long after the timeout it ended.
+   */
+  public Duration getOvershoot() {
+    return overshoot;
+  }
+
+  /**
+   * @return Whether the wait ended because it timed out.
+   */
+  public boolean isTimedOut() {
+    return timedOut;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s after %d poll(s) in %d ms (%d ms evaluating, %d ms overshoot)",
+        timedOut ? "Timed out" : "Met",
+        polls,
+        totalWait.toMillis(),
+        evaluationTime.toMillis(),
+        overshoot.toMillis());
+  }
+}
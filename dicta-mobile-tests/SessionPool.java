@@ -0,0 +1,102 @@
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+// Class for sharing a limited number of sessions (eg a manager with its own browser) between tests running in parallel
+// A session is only ever used by one test (ie one thread) at a time; it is created the first time a test needs it, and reused afterwards
+public class SessionPool<T>
+{
+    private BlockingQueue<T> idleSessions; // Sessions not being used by a test at the moment
+    private List<T> allSessions; // Every session created (for closing them down at the end)
+    private IntFunction<T> createSession; // Creates a new session, given its worker number (1-based)
+    private int maxSessions; // How many sessions can be open at the same time
+    private int sessionCount = 0; // How many sessions have been created so far (or are being created)
+    private Deque<Integer> unusedWorkerNums; // Worker numbers of sessions that failed to start (given to the next session created)
+
+    public SessionPool(int maxSessions, IntFunction<T> createSession) {
+        this.idleSessions = new LinkedBlockingQueue<T>();
+        this.allSessions = Collections.synchronizedList(new ArrayList<T>());
+        this.unusedWorkerNums = new ArrayDeque<Integer>();
+        this.createSession = createSession;
+        this.maxSessions = Math.max(1, maxSessions);
+    }
+    // Overloaded - one session per core (can be changed with the 'tests.workers' system property)
+    public SessionPool(IntFunction<T> createSession) {
+        this(Integer.getInteger("tests.workers", Runtime.getRuntime().availableProcessors()), createSession);
+    }
+
+    // Returns a session for the current test. Creates a new one if there are no idle sessions (and the pool isn't full), otherwise
+    //     waits until another test releases theirs
+    public T Acquire() throws InterruptedException {
+        while (true) {
+            T session = this.idleSessions.poll();
+            if (session != null)
+                return session;
+
+            int workerNum = 0;
+            synchronized (this) {
+                if (this.sessionCount < this.maxSessions) {
+                    this.sessionCount++;
+                    workerNum = this.unusedWorkerNums.isEmpty() ? this.sessionCount : this.unusedWorkerNums.pop();
+                }
+            }
+
+            // Creating a session (ie starting a browser) takes a while, so it is done outside of the lock
+            if (workerNum > 0)
+                return this.CreateSession(workerNum);
+
+            // Checks again every so often, in case a session failed to start (and its place in the pool was freed)
+            session = this.idleSessions.poll(1, TimeUnit.SECONDS);
+            if (session != null)
+                return session;
+        }
+    }
+
+    // Helper method for 'Acquire' - creates a session, and gives its place in the pool back if it could not be created
+    private T CreateSession(int workerNum) {
+        System.out.println(String.format("Starting session #%d (of up to %d)", workerNum, this.maxSessions));
+        try {
+            T session = this.createSession.apply(workerNum);
+            this.allSessions.add(session);
+            return session;
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                this.sessionCount--;
+                this.unusedWorkerNums.push(workerNum);
+            }
+            throw e;
+        }
+    }
+
+    // Returns a session to the pool, so that another test can use it
+    // (T) session: the session acquired by the test
+    public void Release(T session) {
+        if (session != null)
+            this.idleSessions.offer(session);
+    }
+
+    // Returns every session created so far
+    public List<T> GetAllSessions() {
+        synchronized (this.allSessions) {
+            return new ArrayList<T>(this.allSessions);
+        }
+    }
+
+    // Closes down every session created (should be done after all tests are run)
+    // (Consumer<T>) closeSession: how to close down a single session
+    public void CloseAll(Consumer<T> closeSession) {
+        for (T session : this.GetAllSessions()) {
+            try {
+                closeSession.accept(session);
+            } catch (Exception e) {
+                System.out.println(String.format("Could not close session! (Error: %s)", e.getMessage()));
+            }
+        }
+
+        this.allSessions.clear();
+        this.idleSessions.clear();
+    }
+}
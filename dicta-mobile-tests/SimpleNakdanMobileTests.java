@@ -5,8 +5,10 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.FixMethodOrder;
+import org.junit.Rule;
 import org.junit.runner.Description;
 import org.junit.runners.MethodSorters;
+import org.junit.rules.TestName;
 import org.junit.rules.TestWatcher;
 import org.openqa.selenium.*;
 import org.apache.commons.lang3.*;
@@ -15,6 +17,7 @@ import java.net.URL;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,8 +28,11 @@ public class SimpleNakdanMobileTests
     private static String testUrl;
     private static String nikudStyle;
     private static DefsHandler xmlDefs;
-    private static SNM_Manager snmManager;
-    private static int testCount;
+    private static SessionPool<SNM_Manager> snmManagers; // Managers (each with their own browser) shared between tests running in parallel
+    private static CommandMetrics metrics; // How long each command/lookup/wait took, by test
+    private static AtomicInteger testCount;
+    private SNM_Manager snmManager; // The manager used by the current test
+    private int testNum; // Which # test the current test is
     
     public SimpleNakdanMobileTests() {
     }
@@ -49,36 +55,51 @@ public class SimpleNakdanMobileTests
         browserType = "chrome";
         String language = "heb";
         
-        // Setup the webdriver and load webelement data
-        snmManager = new SNM_Manager();
-        snmManager.Setup(browserType, language);
+        // Setup the pool of webdrivers (each one loads webelement data when it is first needed)
+        metrics = new CommandMetrics();
+        snmManagers = new SessionPool<SNM_Manager>(workerNum -> {
+            SNM_Manager manager = new SNM_Manager();
+            manager.Setup(browserType, language, BrowserDriver.GetWorkerDownloadPath(workerNum));
+            manager.GetBrowser().SetMetrics(metrics);
+            return manager;
+        });
         
-        testCount = 0;
+        testCount = new AtomicInteger(0);
         System.out.println(String.format("Starting execution (%s)\n------------------", GetSystemDateTime()));
     }
     
     @AfterClass
     public static void Cleanup() {
         // Prints total tests executed
-        String mainMessage = String.format("Ending execution (performed %d test[s])\n", testCount);
+        String mainMessage = String.format("Ending execution (performed %d test[s])\n", testCount.get());
         String toAdd = "";
         for (int i = 0; i < mainMessage.length() - 1; i++)
             toAdd += "-";
         mainMessage += toAdd + "\n\n";
         System.out.println(mainMessage);
         
-        // Close down the webdriver
-        snmManager.GetBrowser().Quit();
+        // Write the timings of the suite's steps
+        metrics.WriteReport("SimpleNakdanMobileTests");
+        
+        // Close down the webdrivers
+        snmManagers.CloseAll(manager -> manager.GetBrowser().Quit());
     }
     
+    @Rule
+    public TestName testName = new TestName(); // Name of the test being run (for recording its timings)
+    
     @Before
-    public void DoBeforeATest() {
-        testCount++;
+    public void DoBeforeATest() throws InterruptedException {
+        testNum = testCount.incrementAndGet();
+        snmManager = snmManagers.Acquire(); // Each test gets a browser no other test is using at the moment
+        metrics.StartTest(testName.getMethodName());
     }
     
     @After
     public void DoSpace() {
         System.out.println(""); // To allow for readability, in the event the test fails
+        metrics.EndTest();
+        snmManagers.Release(snmManager);
     }
     
     public void SetNikudStyle(String nikudStyle) {
@@ -96,11 +117,11 @@ public class SimpleNakdanMobileTests
     }
     
     public void JustDoNikud(String testIntro, String sampleText) throws InterruptedException {
-        System.out.println(String.format("%s (test #%d)", testIntro, testCount));
+        System.out.println(String.format("%s (test #%d)", testIntro, testNum));
         
         // Switch to nakdan page
         snmManager.GetBrowser().GoTo(testUrl);
-        Thread.sleep(1000);
+        snmManager.WaitForTextAreaInsert();
         
         // Set 'modern' nikud style (used for most tests)
         SetNikudStyle("modern");
@@ -112,17 +133,17 @@ public class SimpleNakdanMobileTests
         // Click nikud button to put nikud on text
         System.out.println("Clicking nikud button");
         snmManager.ClickNikudButton();
-        Thread.sleep(3000); // Sleep as you get taken to a new page
+        snmManager.WaitForNikudResults(); // Wait as you get taken to a new page
         snmManager.GetBrowser().UpdateCurrentPage();
     }
 
     
     public void SetStyleAndDoNikud(String testIntro, String nikudStyle) throws InterruptedException {
-        System.out.println(String.format("%s (test #%d)", testIntro, testCount));
+        System.out.println(String.format("%s (test #%d)", testIntro, testNum));
         
         // Switch to nakdan page
         snmManager.GetBrowser().GoTo(testUrl);
-        Thread.sleep(1000);
+        snmManager.WaitForTextAreaInsert();
         
         // Set 'modern' nikud style (used for most tests)
         SetNikudStyle(nikudStyle);
@@ -134,7 +155,7 @@ public class SimpleNakdanMobileTests
         // Click nikud button to put nikud on text
         System.out.println("Clicking nikud button");
         snmManager.ClickNikudButton();
-        Thread.sleep(3000); // Sleep as you get taken to a new page
+        snmManager.WaitForNikudResults(); // Wait as you get taken to a new page
         snmManager.GetBrowser().UpdateCurrentPage();
     }
     
@@ -147,8 +168,7 @@ public class SimpleNakdanMobileTests
         System.out.println("Getting nikuded text");
         String nikudedText = snmManager.GetTextFromTextArea(false);
         
-        // Sleep to make sure it goes through, then assert
-        Thread.sleep(1000);
+        // Compare with the expected text (the nikuded text was waited for before it was read)
         String expectedText = snmManager.GetExpectedTextByStyle("modern");
         Asserting.DoAssertEquals(nikudedText, expectedText);
     }
@@ -162,8 +182,7 @@ public class SimpleNakdanMobileTests
         System.out.println("Getting nikuded text");
         String nikudedText = snmManager.GetTextFromTextArea(false);
         
-        // Sleep to make sure it goes through, then assert
-        Thread.sleep(1000);
+        // Compare with the expected text (the nikuded text was waited for before it was read)
         String expectedText = snmManager.GetExpectedTextByStyle("rabinic");
         Asserting.DoAssertEquals(nikudedText, expectedText);
     }
@@ -177,8 +196,7 @@ public class SimpleNakdanMobileTests
         System.out.println("Getting nikuded text");
         String nikudedText = snmManager.GetTextFromTextArea(false);
         
-        // Sleep to make sure it goes through, then assert
-        Thread.sleep(1000);
+        // Compare with the expected text (the nikuded text was waited for before it was read)
         String expectedText = snmManager.GetExpectedTextByStyle("poetry");
         Asserting.DoAssertEquals(nikudedText, expectedText);
     }
@@ -190,7 +208,7 @@ public class SimpleNakdanMobileTests
         // Click first word - ויאמר
         System.out.println("Clicking first word");
         snmManager.ClickWord(1);
-        Thread.sleep(500);
+        snmManager.WaitForWordOptions(); // Wait as the nikud edit menu opens
         
         // Click the third word option - וַיֹּאמַר
         System.out.println("Clicking third word option");
@@ -199,7 +217,7 @@ public class SimpleNakdanMobileTests
         // Saving changes
         System.out.println("Saving changes");
         snmManager.SaveWordOption();
-        Thread.sleep(500);
+        snmManager.WaitForWordOptionSaved(); // Wait as the nikud edit menu closes
         
         // Get changed word and compare
         System.out.println("Getting changed word");
@@ -217,7 +235,7 @@ public class SimpleNakdanMobileTests
         // Click first word - ויאמר
         System.out.println("Clicking first word");
         snmManager.ClickWord(1);
-        Thread.sleep(500);
+        snmManager.WaitForWordOptions(); // Wait as the nikud edit menu opens
         
         // Open the toolbar
         System.out.println("Clicking the option toolbar");
@@ -241,7 +259,7 @@ public class SimpleNakdanMobileTests
         // Click first word - ויאמר
         System.out.println("Clicking first word");
         snmManager.ClickWord(1);
-        Thread.sleep(500);
+        snmManager.WaitForWordOptions(); // Wait as the nikud edit menu opens
         
         // Click manual nikud option
         System.out.println("Clicking manual nikud option");
@@ -262,7 +280,7 @@ public class SimpleNakdanMobileTests
         // Saving changes
         System.out.println("Saving changes");
         snmManager.SaveWordOption();
-        Thread.sleep(500);
+        snmManager.WaitForWordOptionSaved(); // Wait as the nikud edit menu closes
         
         // Checking first word is 'וַיֹּאמַּר'
         snmManager.ClickWord(4); // Change the selected word, otherwise it can't be recognized from an xpath since the class is different
@@ -277,8 +295,9 @@ public class SimpleNakdanMobileTests
 
         // Click 'copy text' button
         System.out.println("Clicking 'copy text' button");
+        snmManager.ClearClipboardText();
         snmManager.ClickCopyResultsButton();
-        Thread.sleep(500); // To let the popup show oncscreen
+        snmManager.WaitForClipboardText(); // Wait until the text is copied
         
         // Saving copied text
         System.out.println("Saving copied text from clipboard");
@@ -302,7 +321,7 @@ public class SimpleNakdanMobileTests
         // Click button that takes us back to nakdan page with text cleared
         System.out.println("Clicking button to go back to empty nakdan page");
         snmManager.ClickGotoNewTextButton();
-        Thread.sleep(3000); // Sleep as you get taken to a new page
+        snmManager.WaitForTextAreaInsert(); // Wait as you get taken to a new page
         
         // Get text from textarea
         System.out.println("Getting text from textarea");
@@ -322,8 +341,9 @@ public class SimpleNakdanMobileTests
         
         // Click whatsapp button
         System.out.println("Clicking Whatsapp button");
+        int pageCount = snmManager.GetBrowser().GetDriver().getWindowHandles().size();
         snmManager.ClickWhatsappButton();
-        Thread.sleep((browserType.equals("firefox")) ? 3000 : 1000); // Sleep, as a new tab is opened
+        snmManager.GetBrowser().Waits().WaitForNewPage(pageCount); // Wait as a new tab is opened
         
         // If browser is Firefox, update tab list (it's weird like that)
         if (browserType.equals("firefox"))
@@ -332,6 +352,8 @@ public class SimpleNakdanMobileTests
         // Switch to new tab and get url
         System.out.println("Retrieving results text from url");
         snmManager.GetBrowser().SwitchToLastPage();
+        snmManager.GetBrowser().Waits().WaitForNewPageLoaded();
+        snmManager.GetBrowser().UpdateCurrentPage();
         String toRemove = "https://api.whatsapp.com/send?text=";
         String resultsTextFromUrl = snmManager.ConvertUrlToPlainText(snmManager.GetBrowser().GetFocusedPage().GetUrl(), toRemove);
         snmManager.GetBrowser().ClosePage(snmManager.GetBrowser().GetFocusedPage().GetTitle());
@@ -350,8 +372,9 @@ public class SimpleNakdanMobileTests
         
         // Click whatsapp button
         System.out.println("Clicking Facebook button");
+        int pageCount = snmManager.GetBrowser().GetDriver().getWindowHandles().size();
         snmManager.ClickFacebookButton();
-        Thread.sleep(1000); // Sleep, as a new tab is opened
+        snmManager.GetBrowser().Waits().WaitForNewPage(pageCount); // Wait as a new tab is opened
         
         // If browser is Firefox, update tab list (it's weird like that)
         if (browserType.equals("firefox"))
@@ -360,6 +383,7 @@ public class SimpleNakdanMobileTests
         // Switch to new tab
         System.out.println("Switching to opened tab");
         snmManager.GetBrowser().SwitchToLastPage();
+        snmManager.GetBrowser().Waits().WaitForNewPageLoaded();
         
         // Login to Facebook account (test account)
         System.out.println("Logging into Facebook account");
@@ -368,8 +392,10 @@ public class SimpleNakdanMobileTests
         System.out.println("Entering password");
         snmManager.FillPasswordTextbox();
         System.out.println("Clicking login button");
+        String loginUrl = snmManager.GetBrowser().GetDriver().getCurrentUrl();
         snmManager.ClickLoginButton();
-        Thread.sleep(3000); // Wait for page to load account
+        snmManager.GetBrowser().Waits().WaitForUrlChange(loginUrl); // Wait for page to load account
+        snmManager.GetBrowser().Waits().WaitForDocumentReady();
         
         // Get results from the url
         System.out.println("Retrieving results text from url");
@@ -507,7 +533,7 @@ public class SimpleNakdanMobileTests
         // Click button that takes us back to nakdan page with text cleared
         System.out.println("Clicking button to go back to empty nakdan page");
         snmManager.ClickGotoNewTextButton();
-        Thread.sleep(3000); // Sleep as you get taken to a new page
+        snmManager.WaitForTextAreaInsert(); // Wait as you get taken to a new page
         
         // Do nikud again
         System.out.println("Doing nikud again");
@@ -529,7 +555,7 @@ public class SimpleNakdanMobileTests
 
         // Switch to nakdan page
         snmManager.GetBrowser().GoTo(testUrl);
-        Thread.sleep(1000);
+        snmManager.WaitForTextAreaInsert();
         
         // Enter text into the nakdan
         String sampleText = "כיוון";
@@ -539,12 +565,12 @@ public class SimpleNakdanMobileTests
         // Click nikud button to put nikud on text
         System.out.println("Clicking nikud button");
         snmManager.ClickNikudButton();
-        Thread.sleep(3000); // Sleep as you get taken to a new page
+        snmManager.WaitForNikudResults(); // Wait as you get taken to a new page
         
         // Click only word - כִּוּוּן
         System.out.println("Clicking word");
         snmManager.ClickWord(1);
-        Thread.sleep(500);
+        snmManager.WaitForWordOptions(); // Wait as the nikud edit menu opens
         
         // Click manual nikud option
         System.out.println("Clicking manual nikud option");
@@ -561,7 +587,7 @@ public class SimpleNakdanMobileTests
         // Saving changes
         System.out.println("Saving changes");
         snmManager.SaveWordOption();
-        Thread.sleep(500);
+        snmManager.WaitForWordOptionSaved(); // Wait as the nikud edit menu closes
         
         // Checking first word is 'כִּיוּון'
         //snmManager.ClickWord(4); // Change the selected word, otherwise it can't be recognized from an xpath since the class is different
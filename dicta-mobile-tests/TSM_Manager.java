@@ -5,7 +5,9 @@ import org.jsoup.*;
 import org.jsoup.nodes.*;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.awt.HeadlessException;
 import java.awt.Toolkit;
 import java.awt.datatransfer.DataFlavor;
@@ -14,6 +16,8 @@ import java.nio.charset.StandardCharsets;
 import java.net.URLDecoder;
 import java.io.UnsupportedEncodingException; 
 import java.io.IOException;
+import java.io.File;
+import java.nio.file.Path;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,6 +27,9 @@ public class TSM_Manager
     private Browser tsmBrowser; // Browser for the Talmud Search Mobile tests
     private DefsHandler xmlDefs; // Handles loading of elements from an xml file (contains xpath/id values)
     private HashSet<Tag> tags; // List of elements ('tags') loaded from said xml file (should be 'definitions.xml')
+    private String downloadPath; // Where the browser puts downloaded files
+    private DownloadWatcher downloadWatcher; // Tells when a file in the download folder has finished downloading
+    private long downloadStartTime; // When the last expected download was started (files from before then aren't it)
     private String language; // Which language the Bible Search is operating under
     
     public TSM_Manager() {
@@ -61,6 +68,11 @@ public class TSM_Manager
     // (String) browserType: which browser to use ('chrome', 'firefox', or 'edge')
     // (String) langauge: which language to use ('heb' or 'eng')
     public void Setup(String browserType, String language) {
+        this.Setup(browserType, language, BrowserDriver.downloadPath);
+    }
+    // Overloaded - for setting the download folder (each worker gets their own when running tests in parallel)
+    // (String) downloadPath: where the browser will put downloaded files
+    public void Setup(String browserType, String language, String downloadPath) {
         System.out.println(String.format("Browser being tested: '%s'", browserType));
         
         String pageToLoad = "test_talnach_search_mobile";
@@ -70,15 +82,21 @@ public class TSM_Manager
         // Load definition file
         System.out.println("Loading definitions file");
         // All elements are the same for both the hebrew and english versions
-        this.xmlDefs = SAXLoader.LoadXMLFile("definitions.xml", pageToLoad, "heb");
+        this.xmlDefs = SAXLoader.LoadDefinitions("definitions.xml"); // Parsed once, and shared by every worker
         this.tags = this.xmlDefs.GetPageElements(pageToLoad, "heb");
         
         System.out.println(String.format("Loaded %d page(s)", xmlDefs.GetDefinitionData().size()));
         
         // Start web driver
-        BrowserDriver browserDriver = new BrowserDriver(browserType);
+        BrowserDriver browserDriver = new BrowserDriver(browserType, downloadPath);
         WebDriver driver = browserDriver.GetWebDriver();
-        driver.manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
+        this.downloadPath = browserDriver.GetDownloadPath();
+        try {
+            this.downloadWatcher = new DownloadWatcher(this.downloadPath);
+        } catch (IOException e) {
+            System.out.println(String.format("Could not watch the downloads folder, will check it for downloads instead (Error: %s)", e.getMessage()));
+        }
+        driver.manage().timeouts().implicitlyWait(BrowserDriver.implicitWaitTime, TimeUnit.SECONDS);
         
         // Go to start page
         String testUrl = "http://talmudsearch.dicta.org.il/";
@@ -94,6 +112,23 @@ public class TSM_Manager
         return this.tsmBrowser;
     }
     
+    // Closes the browser, and stops watching the downloads folder
+    public void Quit() {
+        try {
+            if (this.downloadWatcher != null)
+                this.downloadWatcher.close();
+        } catch (IOException e) {
+            System.out.println(String.format("Could not stop watching the downloads folder! (Error: %s)", e.getMessage()));
+        }
+        
+        this.tsmBrowser.Quit();
+    }
+    
+    // Gets the folder the browser puts downloaded files in
+    public String GetDownloadPath() {
+        return this.downloadPath;
+    }
+    
     // Gets the handler for the xml file's tags
     public DefsHandler GetDefs() {
         return this.xmlDefs;
@@ -120,20 +155,8 @@ public class TSM_Manager
         if (webElements == null)
             return "";
         
-        String textToGet = "";
-        int counter = 0;
-        
-        for (WebElement webElement : webElements) {            
-            textToGet += webElement.getText();
-            counter++;
-            
-            // Don't add a space if the text just added is the last word
-            if (counter < webElements.size()) {
-                textToGet += " ";
-            }
-        }
-        
-        return textToGet;
+        // All the texts are read in a single call to the browser
+        return String.join(" ", this.tsmBrowser.GetTexts(webElements));
     }
     
     // Not written by me. Returns text copied to clipboard
@@ -169,8 +192,7 @@ public class TSM_Manager
     
     // Scrolls to the bottom of the page
     public void ScrollToBottom() {
-        JavascriptExecutor je = (JavascriptExecutor)this.tsmBrowser.GetDriver();
-        je.executeScript("window.scrollTo(0, document.body.scrollHeight)");
+        this.tsmBrowser.RunPageScript("window.scrollTo(0, document.body.scrollHeight)");
     }
     
     // Clicks the 'Back to Top' element
@@ -238,12 +260,11 @@ public class TSM_Manager
         if (resultNum < 1)
             resultNum = 1;
         
-        List<WebElement> elements = this.GetResultsOnPageFromSearch();
+        // The text parts of the result are found and read in a single call to the browser
+        String resultXPath = String.format("(%s)[%d]", this.xmlDefs.GetWebElementByName(this.tags, "results_list").GetXPath(), resultNum);
         String versePartXPath = this.xmlDefs.GetWebElementByName(this.tags, "results_text_part").GetXPath();
         
-        List<WebElement> resultElements = elements.get(resultNum - 1).findElements(By.xpath("." + versePartXPath));
-        
-        return GetTextFromElements(resultElements);
+        return String.join(" ", this.tsmBrowser.GetTextsByXPath(resultXPath + versePartXPath));
     }
     
     /*
@@ -294,7 +315,7 @@ public class TSM_Manager
         String applySelectionsButtonXPath = this.xmlDefs.GetWebElementByName(this.tags, "apply_selections_button").GetXPath();
         WebElement element = this.tsmBrowser.GetDriver().findElement(By.xpath(applySelectionsButtonXPath));
         
-        ((JavascriptExecutor)this.tsmBrowser.GetDriver()).executeScript("arguments[0].click();", element);
+        this.tsmBrowser.RunPageScript("arguments[0].click();", element);
     }
     
     /* 
@@ -387,8 +408,9 @@ public class TSM_Manager
         List<WebElement> listElements = this.tsmBrowser.Elements().GetElementsByXPath(xpathToSelectAlls, false);
         
         for (WebElement element: listElements) {
+            String snapshot = this.tsmBrowser.Waits().GetSnapshot(element);
             element.click();
-            Thread.sleep(1000);
+            this.tsmBrowser.Waits().WaitForChange(element, snapshot); // Wait for the books to be (de)selected
         }
     }
     
@@ -459,6 +481,18 @@ public class TSM_Manager
         this.tsmBrowser.Elements().GetElementByDef("no_holy_names_checkbox").click();
     }
     
+    // Returns the extension a downloaded search results file has
+    // (FileType) type: what filetype the results were saved as  ('HTML', 'TXT', 'CSV', or 'WORD')
+    public String GetFileExtension(FileType type) {
+        switch(type) {
+            case HTML: return ".html";
+            case TXT: return ".txt";
+            case CSV: return ".csv";
+            case WORD: return ".docx";
+            default: return null;
+        }
+    }
+    
     // Used for debugging problems when verifying saved search results are correct
     public void CompareStringsAndShowFork(String longerLine, String shorterLine) {
         for (int i = 0; i < longerLine.length(); i++) {
@@ -478,32 +512,37 @@ public class TSM_Manager
     // (FileType) type: what filetype to save the results as  ('HTML', 'TXT', 'CSV', or 'WORD')
     // (String) fullPathToFile: the path to the downloaded file + the filename of the downloaded file
     // (List<String>) linesToCheckAgainst: the hard-coded search results to compare against
+    // NOTE: the file is streamed line by line, and only lines that are being checked for are kept (so large files are checked in linear time)
     public int VerifyDownloadedFileLines(FileType type, String fullPathToFile, List<String> linesToCheckAgainst) throws InvalidFormatException {
+        HashSet<String> expectedLines = new HashSet<String>(linesToCheckAgainst);
+        HashSet<String> foundLines = new HashSet<String>(); // Lines of the file that are also in 'linesToCheckAgainst'
+        Consumer<String> checkLine = line -> {
+            if (expectedLines.contains(line))
+                foundLines.add(line);
+        };
         
-        // Load file into memory, retain lines in the 'linesToCheckAgainst' equivalent to the loaded, and send the size of said list
+        // Stream the file, retain lines in the 'linesToCheckAgainst' equivalent to the streamed, and send the size of said list
         switch(type) {
             case TXT:
             case CSV: 
-                List<String> textFileLines = FileLoader.LoadTextFile(fullPathToFile, true);
-                linesToCheckAgainst.retainAll(textFileLines);
+                FileLoader.StreamTextFile(fullPathToFile, true, checkLine);
                 break;
             
             
             case HTML:
-                List<String> htmlTextLines = FileLoader.LoadHtmlFile(fullPathToFile, false);
-                //this.CompareStringsAndShowFork(htmlTextLines.get(35), linesToCheckAgainst.get(0));
-                linesToCheckAgainst.retainAll(htmlTextLines);
+                FileLoader.StreamHtmlFile(fullPathToFile, false, checkLine);
                 break;
             
             
             case WORD:
-                List<String> wordTextLines = FileLoader.LoadWordFile(fullPathToFile, false);
-                linesToCheckAgainst.retainAll(wordTextLines);
+                FileLoader.StreamWordFile(fullPathToFile, checkLine);
                 break;
                 
             default: return 9001;
         }
         
+        linesToCheckAgainst.retainAll(foundLines); // Checking against a HashSet costs O(1) per line
+        
         System.out.println("\nLines retained\n--------------");
         for (String line : linesToCheckAgainst)
             System.out.println(line);
@@ -553,4 +592,80 @@ public class TSM_Manager
         WebElement element = this.tsmBrowser.Elements().GetElementByDef("no_results");
         return 0;
     }
+    
+    
+    
+    /*
+     * Waiting (returns as soon as the page is ready, instead of sleeping)
+     */
+    
+    // Waits until search results (or the 'no results' message) have been rendered
+    public boolean WaitForResults() {
+        return this.tsmBrowser.Waits().WaitForAnyVisibleByDef("results_list", "no_results");
+    }
+    
+    // Returns the results (or the 'no results' message) shown at the moment, without waiting for them (null if there are none)
+    // NOTE: should be called before applying the sidebar options, so that 'WaitForSidebarApplied' can wait for them to be replaced
+    public WebElement GetShownResults() {
+        return this.tsmBrowser.Waits().FindAnyByDef("results_list", "no_results");
+    }
+    
+    // Waits until the sidebar has closed, and the results filtered by its options have replaced the previous ones
+    // (WebElement) oldResults: the results shown before the options were applied (from 'GetShownResults')
+    public boolean WaitForSidebarApplied(WebElement oldResults) {
+        return this.tsmBrowser.Waits().WaitForInvisibleByDef("apply_selections_button") && this.WaitForNewResults(oldResults);
+    }
+    
+    // Waits until the results shown before have been replaced by new ones (eg after searching again)
+    // (WebElement) oldResults: the results shown before the action that replaces them (from 'GetShownResults')
+    public boolean WaitForNewResults(WebElement oldResults) {
+        return (oldResults == null || this.tsmBrowser.Waits().WaitForStaleness(oldResults)) && this.WaitForResults();
+    }
+    
+    // Waits until the sidebar has slid open
+    public boolean WaitForSidebar() {
+        return this.tsmBrowser.Waits().WaitForVisibleByDef("apply_selections_button");
+    }
+    
+    // Waits until the books submenu of the sidebar has slid in, with a dropdown for every book filter
+    public boolean WaitForBooksMenu() {
+        return this.tsmBrowser.Waits().WaitForCountByDef("filter_books_dropdowns", FilterBook.values().length);
+    }
+    
+    // Waits until a particular page of results is the one shown (eg after clicking the next/previous page arrows)
+    // (int) page: the page of results to wait for (1-based)
+    public boolean WaitForResultsPage(int page) {
+        return this.tsmBrowser.Waits().Until("results page " + page, driver -> {
+            try {
+                return this.GetCurrentResultsPage() == page;
+            } catch (NumberFormatException e) {
+                return false; // The page count is being rendered
+            }
+        }) != null;
+    }
+    
+    // Waits until the link to the sefaria page of a source has been shown (after clicking the source of a result)
+    public boolean WaitForSefariaLink() {
+        return this.tsmBrowser.Waits().WaitForVisibleByDef("to_sefaria_source");
+    }
+    
+    // Starts waiting for the search results file, and returns a future that is completed with the file once it is downloaded
+    // (FileType) type: what filetype the results will be saved as  ('HTML', 'TXT', 'CSV', or 'WORD')
+    // NOTE: should be called before clicking the download button (null is returned if the downloads folder can't be watched)
+    public CompletableFuture<Path> ExpectDownloadedFile(FileType type) {
+        this.downloadStartTime = System.currentTimeMillis();
+        return (this.downloadWatcher != null) ? this.downloadWatcher.Expect(this.GetFileExtension(type)) : null;
+    }
+    
+    // Waits until the search results file has finished downloading, and returns it (null if it was not downloaded in time)
+    // (FileType) type: what filetype the results were saved as  ('HTML', 'TXT', 'CSV', or 'WORD')
+    // (CompletableFuture<Path>) download: the future returned by ExpectDownloadedFile
+    public Path WaitForDownloadedFile(FileType type, CompletableFuture<Path> download) {
+        if (download != null)
+            return this.downloadWatcher.WaitFor(download);
+        
+        // The folder isn't being watched, so check it until the file shows up
+        File downloadedFile = this.tsmBrowser.Waits().WaitForDownload(this.downloadPath, this.GetFileExtension(type), this.downloadStartTime);
+        return (downloadedFile != null) ? downloadedFile.toPath() : null;
+    }
 }
\ No newline at end of file
@@ -15,18 +15,25 @@ import java.awt.Robot;
 import java.awt.AWTException;
 import java.awt.event.KeyEvent;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.text.SimpleDateFormat;
 import java.io.*;
+import java.nio.file.Path;
 
 public class TalmudSearchMobileTests
 {
     private static String browserType; // Which browser type is being tested with
     private static String testUrl; // The base url to start a test from
     private static String langToUse; // Which langauge to perform the test with (currently only 'heb' or 'eng')
-    private static TSM_Manager tsmManager; // The class which manages everything related to Talmud Search stuff
-    private static int testCount; // Which # test we are currently on
+    private static SessionPool<TSM_Manager> tsmManagers; // Managers (each with their own browser) shared between tests running in parallel
+    private static CommandMetrics metrics; // How long each command/lookup/wait took, by test
+    private TSM_Manager tsmManager; // The class which manages everything related to Talmud Search stuff
+    private static AtomicInteger testCount; // How many tests have been started
+    private int testNum; // Which # test the current test is
+    private Path downloadedFile; // The file downloaded by the current test (null if nothing was downloaded)
     
     // Whether or not we are checking a downloaded file's extension, or that the data it contains is correct
     enum DownloadActionType {
@@ -53,11 +60,16 @@ public class TalmudSearchMobileTests
         browserType = "chrome";
         langToUse = "eng";
         
-        // Setup the webdriver and load webelement data
-        tsmManager = new TSM_Manager();
-        tsmManager.Setup(browserType, langToUse);
+        // Setup the pool of webdrivers (each one loads webelement data when it is first needed)
+        metrics = new CommandMetrics();
+        tsmManagers = new SessionPool<TSM_Manager>(workerNum -> {
+            TSM_Manager manager = new TSM_Manager();
+            manager.Setup(browserType, langToUse, BrowserDriver.GetWorkerDownloadPath(workerNum));
+            manager.GetBrowser().SetMetrics(metrics);
+            return manager;
+        });
         
-        testCount = 0;
+        testCount = new AtomicInteger(0);
         System.out.println(String.format("Starting execution (%s)\n------------------", GetSystemDateTime()));
     }
     
@@ -71,36 +83,54 @@ public class TalmudSearchMobileTests
         System.out.println("");
         
         // Prints total tests executed
-        String mainMessage = String.format("Ending execution (performed %d test[s])\n", testCount);
+        String mainMessage = String.format("Ending execution (performed %d test[s])\n", testCount.get());
         String toAdd = "";
         for (int i = 0; i < mainMessage.length() - 1; i++)
             toAdd += "-";
         mainMessage += toAdd + "\n\n";
         System.out.println(mainMessage);
         
-        // Close down the webdriver
-        tsmManager.GetBrowser().Quit();
+        // Write the timings of the suite's steps
+        metrics.WriteReport("TalmudSearchMobileTests");
+        
+        // Close down the webdrivers
+        tsmManagers.CloseAll(manager -> manager.Quit());
     }
     
+    @Rule
+    public TestName testName = new TestName(); // Name of the test being run (for recording its timings)
+    
     @Before
-    public void DoBeforeATest() {
-        testCount++;
+    public void DoBeforeATest() throws InterruptedException {
+        testNum = testCount.incrementAndGet();
+        tsmManager = tsmManagers.Acquire(); // Each test gets a browser no other test is using at the moment
+        metrics.StartTest(testName.getMethodName());
     }
     
     @After
     public void DoSpace() {
         System.out.println(""); // To allow for readability, in the event the test fails
+        metrics.EndTest();
+        tsmManagers.Release(tsmManager);
     }
     
     // To avoid repeat code - enters search text and searches
     // (String) testIntro: the intro to the test printed in the console
     // (String) searchText: the text to search for in the searchbar
     public void JustSearch(String testIntro, String searchText) throws InterruptedException {
-        System.out.println(String.format("%s (test #%d)", testIntro, testCount));
+        System.out.println(String.format("%s (test #%d)", testIntro, testNum));
+        
+        // Reuse the results page of a previous test with the same search, if it is still around (or can be loaded straight from its url)
+        String fixture = FixtureCache.Key(searchText, langToUse, "sidebar closed");
+        if (tsmManager.GetBrowser().Fixtures().Restore(fixture, () -> tsmManager.WaitForResults())) {
+            System.out.println(String.format("Reusing the search results of a previous test ('%s')", searchText));
+            tsmManager.GetBrowser().UpdateCurrentPage();
+            return;
+        }
         
         // Switch to talmud search page
         tsmManager.GetBrowser().GoTo(testUrl);
-        Thread.sleep(1000);
+        tsmManager.GetBrowser().Waits().WaitForDocumentReady();
         tsmManager.SwitchToLanguage(langToUse); // Make sure that the appropriate language page is being used
         
         // Enter text into the searchbar
@@ -110,8 +140,9 @@ public class TalmudSearchMobileTests
         // Click search button
         System.out.println("Clicking search button");
         tsmManager.ClickInitialSearchButton();
-        Thread.sleep(3500); // Sleep as you get taken to a new page
+        tsmManager.WaitForResults(); // Wait as you get taken to a new page
         tsmManager.GetBrowser().UpdateCurrentPage();
+        tsmManager.GetBrowser().Fixtures().Store(fixture, testUrl);
     }
     
     // To avoid repeat code - enters search text, searches, and then opens the sidebar
@@ -123,9 +154,7 @@ public class TalmudSearchMobileTests
         // Click sidebar button
         System.out.println("Clicking the sidebar button");
         tsmManager.ClickSidebarButton();
-        
-        if (browserType.equals("firefox"))
-            Thread.sleep(1000);
+        tsmManager.WaitForSidebar(); // Wait as the sidebar slides open
     }
     
     // To avoid repeat code - enters search text, searches, opens the sidebar, and downloads the search results to a file
@@ -149,8 +178,9 @@ public class TalmudSearchMobileTests
         
         // Clicking the download button
         System.out.println("Clicking the download button");
+        CompletableFuture<Path> download = tsmManager.ExpectDownloadedFile(fileType); // Start watching before the download can start
         tsmManager.ClickDownloadButton();
-        Thread.sleep(3000); // Wait until file is downloaded
+        this.downloadedFile = tsmManager.WaitForDownloadedFile(fileType, download); // Wait until file is downloaded
     }
     
     // To avoid repeat code - clicks the back button of an open submenu, and applies the option(s) selected therein to the results
@@ -161,63 +191,45 @@ public class TalmudSearchMobileTests
         
         // Apply sidebar options
         System.out.println("Applying sidebar options");
+        WebElement oldResults = tsmManager.GetShownResults();
         tsmManager.ApplySidebarOptions();
-        Thread.sleep((browserType.equals("firefox")) ? 1000 : 500); // Sleep to ensure new results are loaded
+        tsmManager.WaitForSidebarApplied(oldResults); // Wait to ensure new results are loaded
     }
     
+    // Takes the appropriate action on the file downloaded by SearchAndDownloadFile, and removes it
+    // (DownloadActionType) daType: whether to return the file's name, or the number of lines in it that match 'linesToCheckAgainst'
     public String BrowseDownloadsAndCheckFile(DownloadActionType daType, TSM_Manager.FileType fileType,
         List<String> linesToCheckAgainst) throws InvalidFormatException {
-        // Get extension to use when looking for the appropriate downloaded search results file
-        String filetypeToCompare = "";
-        switch(fileType) {
-            case HTML:
-                filetypeToCompare = ".html";
-                break;
-            case TXT:
-                filetypeToCompare = ".txt";
-                break;
-            case CSV:
-                filetypeToCompare = ".csv";
-                break;
-            case WORD:
-                filetypeToCompare = ".docx";
-                break;
-        }
+        if (this.downloadedFile == null)
+            return "0";
         
-        // Loop over the downloads folder, and take the appropriate action
+        // Take appropriate action
         String valueToReturn = "0";
-        File dir = new File(BrowserDriver.downloadPath);
-        File[] dirContents = dir.listFiles();
-        for (File fileInDownloads : dirContents) {
-            if (fileInDownloads.getName().contains(filetypeToCompare)) {
-                
-                // Take appropriate action
-                switch (daType) {
-                    case CHK_EXT:
-                        valueToReturn = fileInDownloads.getName();
-                        break;
-                    case CHK_FILE:
-                        valueToReturn = Integer.toString(tsmManager.VerifyDownloadedFileLines(fileType, 
-                            BrowserDriver.downloadPath + "\\" + fileInDownloads.getName(), linesToCheckAgainst));
-                        break;
-                }
-                
-                fileInDownloads.delete(); // Remove file when done
+        switch (daType) {
+            case CHK_EXT:
+                valueToReturn = this.downloadedFile.getFileName().toString();
+                break;
+            case CHK_FILE:
+                valueToReturn = Integer.toString(tsmManager.VerifyDownloadedFileLines(fileType, this.downloadedFile.toString(), linesToCheckAgainst));
                 break;
-            }
         }
         
+        this.downloadedFile.toFile().delete(); // Remove file when done
+        this.downloadedFile = null;
+        
         return valueToReturn;
     }
     
-    // Removes all files in the 'downloads' folder
+    // Removes all files in the 'downloads' folders (each worker has their own)
     public static void DeleteAllDownloadedFiles() {
-        File dir = new File(BrowserDriver.downloadPath); // Directory to 'downloads' folder
-        File[] dirContents = dir.listFiles(); // All files in 'downloads' folder
+        for (TSM_Manager manager : tsmManagers.GetAllSessions()) {
+            File dir = new File(manager.GetDownloadPath()); // Directory to the worker's 'downloads' folder
+            File[] dirContents = dir.listFiles(); // All files in the worker's 'downloads' folder
         
-        for (File fileInDownloads : dirContents) {
-            System.out.println("Deleting " + fileInDownloads.getName());
-            fileInDownloads.delete();
+            for (File fileInDownloads : dirContents) {
+                System.out.println("Deleting " + fileInDownloads.getName());
+                fileInDownloads.delete();
+            }
         }
     }
     
@@ -247,8 +259,9 @@ public class TalmudSearchMobileTests
         
         // Clicking search button
         System.out.println("Clicking search button");
+        WebElement oldResults = tsmManager.GetShownResults();
         tsmManager.ClickSearchButton();
-        Thread.sleep(3000);
+        tsmManager.WaitForNewResults(oldResults); // Wait until the new results replace the previous ones
         
         // Retrieve results number
         System.out.println("Retrieving total results");
@@ -377,7 +390,6 @@ public class TalmudSearchMobileTests
         
         // Click the back button, and apply the option(s) selected
         MoveBackAndApplyOptions();
-        Thread.sleep(2000);
         
         // Retrieve results number
         System.out.println("Retrieving total results");
@@ -405,7 +417,6 @@ public class TalmudSearchMobileTests
         
         // Click the back button, and apply the option(s) selected
         MoveBackAndApplyOptions();
-        Thread.sleep(2000);
         
         // Retrieve results number
         System.out.println("Retrieving total results");
@@ -460,7 +471,6 @@ public class TalmudSearchMobileTests
         
         // Click the back button, and apply the option(s) selected
         MoveBackAndApplyOptions();
-        Thread.sleep(2000);
         
         // Retrieve results number
         System.out.println("Retrieving total results");
@@ -480,7 +490,7 @@ public class TalmudSearchMobileTests
         
         // Click appropriate filter book dropdown
         System.out.println("Clicking Seder Taharot dropdown");
-        Thread.sleep(10000); // Needed for when running tests in a suite
+        tsmManager.WaitForBooksMenu(); // Wait as the submenu slides in
         tsmManager.ClickFilterBookDropdown(TSM_Manager.FilterBook.TAHAROT);
         
         // Deselect seder taharot options
@@ -526,7 +536,6 @@ public class TalmudSearchMobileTests
         // Reselect all sedarim
         System.out.println("Reselecting all sedarim");
         tsmManager.DeReselectAllFilterBooks(false);
-        Thread.sleep(1000); // Sleep to wait for the books to be reselected
         
         // Click the back button, and apply the option(s) selected
         MoveBackAndApplyOptions();
@@ -561,7 +570,6 @@ public class TalmudSearchMobileTests
         
         // Click the back button, and apply the option(s) selected
         MoveBackAndApplyOptions();
-        Thread.sleep(3000);
         
         // Retrieve results number
         System.out.println("Retrieving total results");
@@ -787,7 +795,6 @@ public class TalmudSearchMobileTests
         
         // Click the back button, and apply the option(s) selected
         MoveBackAndApplyOptions();
-        Thread.sleep(3000);
         
         // Get the number of results on the page
         int resultsOnPage = tsmManager.GetResultsOnPageFromSearch().size();
@@ -810,7 +817,6 @@ public class TalmudSearchMobileTests
         
         // Click the back button, and apply the option(s) selected
         MoveBackAndApplyOptions();
-        Thread.sleep(3000);
         
         // Get the number of results on the page
         int resultsOnPage = tsmManager.GetResultsOnPageFromSearch().size();
@@ -1059,9 +1065,10 @@ public class TalmudSearchMobileTests
         
         // Move to the 5th page of results
         System.out.println("Moving to the 5th page of results");
-        for (int i = 1; i < 5; i++)
+        for (int i = 1; i < 5; i++) {
             tsmManager.ClickNextPageResultsButton();
-            Thread.sleep(1000);
+            tsmManager.WaitForResultsPage(i + 1);
+        }
         
         // Retrieve the current results' page
         System.out.println("Retrieving the current results' page");
@@ -1077,15 +1084,17 @@ public class TalmudSearchMobileTests
         
         // Move to the 5th page of results
         System.out.println("Moving to the 5th page of results");
-        for (int i = 1; i < 5; i++)
+        for (int i = 1; i < 5; i++) {
             tsmManager.ClickNextPageResultsButton();
-            Thread.sleep(1000);
+            tsmManager.WaitForResultsPage(i + 1);
+        }
         
         // Move back to the 2nd page of results
         System.out.println("Moving back to the 2nd page of results");
-        for (int i = 5; i > 2; i--)
+        for (int i = 5; i > 2; i--) {
             tsmManager.ClickPreviousPageResultsButton();
-            Thread.sleep(1000);
+            tsmManager.WaitForResultsPage(i - 1);
+        }
             
         // Retrieve the current results' page
         System.out.println("Retrieving the current results' page");
@@ -1131,8 +1140,9 @@ public class TalmudSearchMobileTests
         
         // Clicking link to search page
         System.out.println("Clicking link to search page");
+        String previousUrl = tsmManager.GetBrowser().GetDriver().getCurrentUrl();
         tsmManager.ClickToSearchPageLink();
-        Thread.sleep(3000); // Sleep and wait until page is loaded
+        tsmManager.GetBrowser().Waits().WaitForUrlChange(previousUrl); // Wait until page is loaded
         tsmManager.GetBrowser().UpdateCurrentPage();
         
         String currentUrl = tsmManager.GetBrowser().GetFocusedPage().GetUrl();
@@ -1146,16 +1156,13 @@ public class TalmudSearchMobileTests
         // Clicking source of first result
         System.out.println("Clicking source of first result");
         tsmManager.GetASourceOfResultFromCurrentPage(1).click();
-        Thread.sleep(1000);
+        tsmManager.WaitForSefariaLink();
         
-        // Needed to make the test work with firefox
-        if (browserType.equals("firefox"))
-            Thread.sleep(3000);
-            
         // Clicking the link to the sefaria page        
         System.out.println("Clicking the link to the appropriate sefaria page");
+        int pageCount = tsmManager.GetBrowser().GetDriver().getWindowHandles().size();
         tsmManager.ClickLinkToSefariaSource();
-        Thread.sleep((browserType.equals("firefox")) ? 15000 : 3000); // Needed to make the test work with firefox
+        tsmManager.GetBrowser().Waits().WaitForNewPage(pageCount); // Wait as a new tab is opened
         
         // Needed to make the test work with firefox
         if (browserType.equals("firefox")) {
@@ -1170,10 +1177,11 @@ public class TalmudSearchMobileTests
                     break;
             }
         } else if (browserType.equals("chrome")) {
-            Thread.sleep(3000);
+            tsmManager.GetBrowser().WaitForPage("זבחים ק״א א:ב");
             tsmManager.GetBrowser().SwitchToPage("זבחים ק״א א:ב");
         }
         
+        tsmManager.GetBrowser().Waits().WaitForNewPageLoaded();
         tsmManager.GetBrowser().UpdateCurrentPage();
         String currentUrl = tsmManager.GetBrowser().GetFocusedPage().GetUrl();
         
@@ -1191,12 +1199,12 @@ public class TalmudSearchMobileTests
         // Scroll to the bottom of the page
         System.out.println("Scrolling to the bottom of the page");
         tsmManager.ScrollToBottom();
-        Thread.sleep(1000);
+        tsmManager.GetBrowser().Waits().WaitForScrolledDown();
         
         // Clicking the 'to top of page' button
         System.out.println("Clicking the 'back to top' element");
         tsmManager.ClickBackToTop();
-        Thread.sleep(1000);
+        tsmManager.GetBrowser().Waits().WaitForScrolledToTop(); // Wait as the page scrolls up
         
         // Retrieving the page's y offset
         JavascriptExecutor je = (JavascriptExecutor)tsmManager.GetBrowser().GetDriver();
@@ -1,24 +1,55 @@
 package definitions;
+import java.io.Serializable;
 import java.util.*;
 
 // Handler for the 'definitions.xml' file
-public class DefsHandler
+// NOTE: once frozen (see SAXLoader.LoadDefinitions), a handler can't be changed, and can be shared between threads
+public class DefsHandler implements Serializable
 {
+    private static final long serialVersionUID = 1L;
+    
     // Holds tag data
     private HashSet<PTag> pages; // Unique list of pages loaded
-    private HashMap<PTag,HashSet<Tag>> pageData; // For each page, a unique list of tags
+    private HashMap<PTag,HashSet<Tag>> pageData; // For each page, a unique list of tags (indexed by name, see TagSet)
+    private HashMap<String,HashMap<String,PTag>> pagesByName; // Pages by their name, then by their language (for looking them up without building strings)
     protected HashSet<String> pageChecks; // To make sure that duplicate pages aren't added
+    private boolean frozen = false; // Whether or not pages/tags can still be added
     
     // Constructor
     public DefsHandler() {
         this.pages = new HashSet<PTag>();
         this.pageData = new HashMap<PTag,HashSet<Tag>>();
+        this.pagesByName = new HashMap<String,HashMap<String,PTag>>();
         this.pageChecks = new HashSet<String>();
     }
     
-    // Returns all data loaded
+    // Returns all data loaded (a copy, if the handler is frozen)
     public HashMap<PTag, HashSet<Tag>> GetDefinitionData() {
-        return pageData;
+        return (this.frozen) ? new HashMap<PTag, HashSet<Tag>>(pageData) : pageData;
+    }
+    
+    // Stops pages/tags from being added or removed (so that the handler can be shared between threads without locking)
+    public void Freeze() {
+        this.frozen = true;
+        
+        for (HashSet<Tag> tags : this.pageData.values()) {
+            if (tags instanceof TagSet)
+                ((TagSet)tags).Freeze();
+        }
+    }
+    
+    // Returns whether or not the handler has been frozen
+    public boolean IsFrozen() {
+        return this.frozen;
+    }
+    
+    // Helper method for blocking changes to a frozen handler
+    private void CheckNotFrozen() {
+        if (this.frozen) {
+            String message = "Loaded definitions can't be changed (they are shared between workers)\n";
+            System.out.println(message);
+            throw new IllegalStateException(message);
+        }
     }
     
     // Returns a particular page's web-elements
@@ -33,12 +64,16 @@ public class DefsHandler
     private Tag GetTagByName(HashSet<Tag> tags, String name) {
         Tag tagToGet = null;
         
-        for (Tag tag : tags) {
-            String tagName = tag.GetName();
-            
-            if (tagName.equals(name)) {
-                tagToGet = tag;
-                break;
+        if (tags instanceof TagSet) {
+            tagToGet = ((TagSet)tags).GetByName(name);
+        } else {
+            for (Tag tag : tags) {
+                String tagName = tag.GetName();
+                
+                if (tagName.equals(name)) {
+                    tagToGet = tag;
+                    break;
+                }
             }
         }
         
@@ -64,17 +99,7 @@ public class DefsHandler
     // (String) pageName: the name of the page
     // (String) pageLang: the language of the page
     public PTag GetPageByCheck(String pageName, String pageLang) {
-        String pageCheck = pageName + "|" + pageLang;
-        PTag pageTag = null;
-
-        for (PTag pTag : pages) {
-            String pCheck = pTag.GetName() + "|" + pTag.GetLang();
-            
-            if (pCheck.equals(pageCheck)) {
-                pageTag = pTag;
-                break;
-            }
-        }
+        PTag pageTag = this.FindPage(pageName, pageLang);
         
         if (pageTag == null) {
             String message = String.format("Could not find page tag! (name: '%s', lang: '%s')\n", pageName, pageLang);
@@ -85,11 +110,20 @@ public class DefsHandler
         return pageTag;
     }
     
+    // Returns a page tag by its name and language, or null if it hasn't been added
+    // (String) pageName: the name of the page
+    // (String) pageLang: the language of the page
+    private PTag FindPage(String pageName, String pageLang) {
+        HashMap<String,PTag> pageLangs = this.pagesByName.get(pageName);
+        return (pageLangs != null) ? pageLangs.get(pageLang) : null;
+    }
+    
     // Adds an empty 'page' (tag)
     // (String) pageName: the name of the page
     // (String) pageLang: the language of the page
     // (String) pageLink: the url to the page (not used much at the moment)
     protected void AddPage(String pageName, String pageLang, String pageLink) {
+        this.CheckNotFrozen();
         String pageCheck = pageName + "|" + pageLang;
         
         if (!this.pageChecks.contains(pageCheck)) {
@@ -97,7 +131,8 @@ public class DefsHandler
             
             PTag pageTag = new PTag(pageName, pageLang, pageLink);
             this.pages.add(pageTag);
-            this.pageData.put(pageTag, new HashSet<Tag>());
+            this.pageData.put(pageTag, new TagSet());
+            this.pagesByName.computeIfAbsent(pageName, name -> new HashMap<String,PTag>()).put(pageLang, pageTag);
         }
     }
     
@@ -108,12 +143,19 @@ public class DefsHandler
     // (String) xpath: the xpath to the WebElement of the tag
     // (String) id: the id to the WebElement of the tag
     protected void AddWETagToPage(String pageName, String pageLang, String name, String xpath, String id) {
-        String pageCheck = pageName + "|" + pageLang;
+        this.CheckNotFrozen();
+        PTag pageTag = this.FindPage(pageName, pageLang);
         
-        if (this.pageChecks.contains(pageCheck)) {
-            PTag pageTag = this.GetPageByCheck(pageName, pageLang);
+        if (pageTag != null) {
             HashSet<Tag> tags = this.pageData.get(pageTag);
-            WETag webTag = new WETag(name, xpath, id);
+            WETag webTag = new WETag(name, (xpath == null) ? "" : xpath, (id == null) ? "" : id);
+            
+            // A webelement tag that can't be located would only fail when a test uses it, so fail when loading instead
+            if (webTag.GetXPath().equals("") && webTag.GetID().equals("")) {
+                String message = String.format("Webelement tag has neither an xpath nor an id! (name: '%s', page: '%s|%s')\n", name, pageName, pageLang);
+                System.out.println(message);
+                throw new IllegalArgumentException(message);
+            }
             
             if (!tags.contains(webTag)) {
                 tags.add(webTag);
@@ -128,11 +170,11 @@ public class DefsHandler
     // (String) name: the name of the text tag
     // (String) value: the text stored in the text tag
     protected void AddTTagToPage(String pageName, String pageLang, String name, String value) {
-        String pageCheck = pageName + "|" + pageLang;
+        this.CheckNotFrozen();
+        PTag pageTag = this.FindPage(pageName, pageLang);
         
         // Can only add a text tag if there is a page to add it to
-        if (this.pageChecks.contains(pageCheck)) {
-            PTag pageTag = this.GetPageByCheck(pageName, pageLang);
+        if (pageTag != null) {
             HashSet<Tag> tags = this.pageData.get(pageTag);
             TTag textTag = new TTag(name, value);
             
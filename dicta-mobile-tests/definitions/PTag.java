@@ -4,6 +4,8 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 // Class for the 'page' tag in the 'definitions.xml' file (for web element names and xpaths/ids)
 public class PTag implements Tag
 {
+    private static final long serialVersionUID = 1L;
+    
     private String name;
     private String lang;
     private String link;
@@ -6,7 +6,8 @@ import java.util.*;
 
 public class SAXHandler extends DefaultHandler
 {
-    private String currentLocation = ""; // Which page the parser is on
+    private String currentPageName = ""; // Which page the parser is on
+    private String currentPageLang = ""; // The language of the page the parser is on
     private DefsHandler defsHandler; // The definition handler
     
     // For parsing through the file
@@ -58,7 +59,8 @@ public class SAXHandler extends DefaultHandler
                 bPage = true;
                 doEnterPage = true;
                 this.defsHandler.AddPage(pageName, pageLang, pageLink);
-                this.currentLocation = pageCheck;
+                this.currentPageName = pageName;
+                this.currentPageLang = pageLang;
             
             } 
             // If loading a single page's elements
@@ -66,31 +68,28 @@ public class SAXHandler extends DefaultHandler
                 bPage = true;
                 doEnterPage = true;
                 this.defsHandler.AddPage(pageName, pageLang, pageLink);
-                this.currentLocation = pageCheck;
+                this.currentPageName = pageName;
+                this.currentPageLang = pageLang;
             }
         } 
         // When encountering a webelement tag, and it is a child-element of a page element
         else if (qName.equalsIgnoreCase("webelement") && doEnterPage == true) {
             bWebElement = true;
-            String pageName = this.currentLocation.split("\\|", 2)[0];
-            String pageLang = this.currentLocation.split("\\|", 2)[1];
             
             String name = attributes.getValue("name"); // name of the webelement element
             String xpath = attributes.getValue("xpath"); // xpath value
             String id = attributes.getValue("id"); // id value
 
-            this.defsHandler.AddWETagToPage(pageName, pageLang, name, xpath, id);
+            this.defsHandler.AddWETagToPage(this.currentPageName, this.currentPageLang, name, xpath, id);
         } 
         // When encountering a text tag, and it is a child-element of a page element
         else if (qName.equalsIgnoreCase("text") && doEnterPage == true) {
             bTextElement = true;
-            String pageName = this.currentLocation.split("\\|", 2)[0];
-            String pageLang = this.currentLocation.split("\\|", 2)[1];
             
             String textName = attributes.getValue("name"); // name of the text element
             String textValue = attributes.getValue("value"); // text itself
             
-            this.defsHandler.AddTTagToPage(pageName, pageLang, textName, textValue);
+            this.defsHandler.AddTTagToPage(this.currentPageName, this.currentPageLang, textName, textValue);
         }
     }
     
@@ -4,15 +4,64 @@ import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import org.xml.sax.SAXException;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 public class SAXLoader
 {
+    private static final SAXParserFactory saxParserFactory = SAXParserFactory.newInstance(); // Made once (a parser is still made per load, as they aren't thread-safe)
+    private static final int cacheVersion = 1; // Version of the cache files - MUST be raised whenever a definitions class changes its fields
+    private static HashMap<String, Snapshot> snapshots = new HashMap<String, Snapshot>(); // Definitions already loaded, by the xml file's full path
+    
+    // Loads every page of an xml file once, and returns it as a frozen (unchangeable) handler, shared by everyone loading the same file
+    // (String) filename: the xml file to load
+    
+    // NOTE: the loaded definitions are also saved to a cache file (in the temp folder), along with the xml file's last-modified time and
+    //     hash. Later runs load the cache instead of parsing the xml, unless the xml file has changed
+    public static synchronized DefsHandler LoadDefinitions(String filename) {
+        File xmlFile = new File(filename).getAbsoluteFile();
+        long lastModified = xmlFile.lastModified();
+        long size = xmlFile.length();
+        
+        // Already loaded (eg by another worker)
+        Snapshot snapshot = snapshots.get(xmlFile.getPath());
+        if (snapshot != null && snapshot.Matches(lastModified, size))
+            return snapshot.defs;
+        
+        File cacheFile = GetCacheFile(xmlFile);
+        snapshot = ReadCache(cacheFile);
+        
+        if (snapshot == null || !snapshot.Matches(lastModified, size)) {
+            String hash = HashFile(xmlFile);
+            
+            // The xml file was touched without being changed (eg by a checkout) - the cache only needs its time updated
+            if (snapshot != null && hash != null && hash.equals(snapshot.hash)) {
+                snapshot = new Snapshot(lastModified, size, hash, snapshot.defs);
+            } else {
+                DefsHandler defs = LoadXMLFile(filename);
+                if (defs == null)
+                    return null;
+                
+                defs.Freeze();
+                snapshot = new Snapshot(lastModified, size, hash, defs);
+            }
+            
+            WriteCache(cacheFile, snapshot);
+        }
+        
+        snapshots.put(xmlFile.getPath(), snapshot);
+        return snapshot.defs;
+    }
+    
     // Parses through an XML file and loads the appropriate page data from it
     // (String) filename: the xml file to parse through
     public static DefsHandler LoadXMLFile(String filename) {
         DefsHandler defsData = null;
-        SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
 
         try {
             SAXParser saxParser = saxParserFactory.newSAXParser();
@@ -35,7 +84,6 @@ public class SAXLoader
     // (String) language: the langauge of the page being loaded
     public static DefsHandler LoadXMLFile(String filename, String pageToLoad, String language) {
         DefsHandler defsData = null;
-        SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
 
         try {
             SAXParser saxParser = saxParserFactory.newSAXParser();
@@ -51,4 +99,112 @@ public class SAXLoader
         
         return defsData;
     }
+    
+    // Returns the cache file of an xml file (one per xml file, by its full path, and per cache version - so that caches written before the
+    //     definitions classes changed are never read)
+    // (File) xmlFile: the xml file
+    private static File GetCacheFile(File xmlFile) {
+        String cacheName = String.format("%s-%08x.v%d.defs-cache", xmlFile.getName(), xmlFile.getPath().hashCode(), cacheVersion);
+        return new File(System.getProperty("java.io.tmpdir"), cacheName);
+    }
+    
+    // Returns the SHA-256 hash of a file, in hex (null if the file can't be read)
+    // (File) file: the file to hash
+    private static String HashFile(File file) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file.toPath()));
+            StringBuilder hex = new StringBuilder();
+            
+            for (byte b : hash)
+                hex.append(String.format("%02x", b));
+            
+            return hex.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    // Reads a cache file (null if there is none, or it can't be read)
+    // (File) cacheFile: the cache file to read
+    private static Snapshot ReadCache(File cacheFile) {
+        if (!cacheFile.isFile())
+            return null;
+        
+        try (ObjectInputStream in = new DefinitionsInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(cacheFile))))) {
+            return (Snapshot)in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            System.out.println(String.format("Could not read the definitions cache, loading the xml file instead (Error: %s)", e));
+            return null;
+        }
+    }
+    
+    // Writes a cache file (to a temporary file of its own first, so that a worker - or another run - never reads a half-written cache)
+    // (File) cacheFile: the cache file to write
+    // (Snapshot) snapshot: the loaded definitions to save
+    private static void WriteCache(File cacheFile, Snapshot snapshot) {
+        File tempFile;
+        try {
+            tempFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheFile.getParentFile());
+        } catch (IOException e) {
+            System.out.println(String.format("Could not write the definitions cache! (Error: %s)", e));
+            return;
+        }
+        
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))) {
+            out.writeObject(snapshot);
+        } catch (IOException e) {
+            System.out.println(String.format("Could not write the definitions cache! (Error: %s)", e));
+            tempFile.delete();
+            return;
+        }
+        
+        try {
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.out.println(String.format("Could not write the definitions cache! (Error: %s)", e));
+            tempFile.delete();
+        }
+    }
+    
+    // Loaded definitions, along with the xml file they were loaded from
+    private static class Snapshot implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+        
+        private long lastModified; // Last-modified time of the xml file
+        private long size; // Size of the xml file
+        private String hash; // SHA-256 hash of the xml file
+        private DefsHandler defs; // The (frozen) definitions
+        
+        public Snapshot(long lastModified, long size, String hash, DefsHandler defs) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = hash;
+            this.defs = defs;
+        }
+        
+        // Returns whether or not the snapshot was made from the xml file as it is now
+        public boolean Matches(long lastModified, long size) {
+            return this.lastModified == lastModified && this.size == size && this.defs.IsFrozen();
+        }
+    }
+    
+    // Only lets the classes of loaded definitions be read from a cache file
+    private static class DefinitionsInputStream extends ObjectInputStream
+    {
+        public DefinitionsInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+        
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            
+            if (!name.startsWith("definitions.") && !name.startsWith("java.util.") && !name.startsWith("java.lang."))
+                throw new InvalidClassException(name, "Not allowed in a definitions cache");
+            
+            return super.resolveClass(desc);
+        }
+    }
 }
@@ -4,6 +4,8 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 public class TTag implements Tag
 {
+    private static final long serialVersionUID = 1L;
+    
     private String name;
     private String value;
     
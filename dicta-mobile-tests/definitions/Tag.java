@@ -1,8 +1,8 @@
 package definitions;
+import java.io.Serializable;
 
-
-// Interface for various 'Tag' classes
-public interface Tag
+// Interface for various 'Tag' classes (serializable, so that loaded definitions can be cached to a file - see SAXLoader)
+public interface Tag extends Serializable
 {
     String GetName(); // Returns the tag's name
 }
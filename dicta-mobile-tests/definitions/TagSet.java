@@ -0,0 +1,91 @@
+package definitions;
+import java.util.*;
+
+// A unique list of tags, that is also indexed by the tags' names (so that getting a tag by its name doesn't loop over every tag)
+// Once frozen, the set can't be changed (for definitions shared between workers running in parallel)
+public class TagSet extends HashSet<Tag>
+{
+    private static final long serialVersionUID = 1L;
+    
+    private HashMap<String, Tag> tagsByName; // Tags, by their name
+    private boolean frozen = false; // Whether or not the set can still be changed
+    
+    public TagSet() {
+        this.tagsByName = new HashMap<String, Tag>();
+    }
+    
+    // Adds a tag, and indexes it by its name. Two different tags with the same name would make lookups ambiguous, so that fails when
+    //     the definitions file is loaded (instead of when the tag is used)
+    // (Tag) tag: the tag to add
+    @Override
+    public boolean add(Tag tag) {
+        this.CheckNotFrozen();
+        Tag sameNameTag = this.tagsByName.get(tag.GetName());
+        
+        if (sameNameTag != null && !sameNameTag.equals(tag)) {
+            String message = String.format("Tag name is defined twice! ('%s' and '%s')\n", sameNameTag, tag);
+            System.out.println(message);
+            throw new IllegalArgumentException(message);
+        }
+        
+        this.tagsByName.put(tag.GetName(), tag);
+        return super.add(tag);
+    }
+    
+    @Override
+    public boolean remove(Object obj) {
+        this.CheckNotFrozen();
+        if (obj instanceof Tag)
+            this.tagsByName.remove(((Tag)obj).GetName(), obj);
+        return super.remove(obj);
+    }
+    
+    @Override
+    public void clear() {
+        this.CheckNotFrozen();
+        this.tagsByName.clear();
+        super.clear();
+    }
+    
+    // Removing through the iterator (eg removeAll/retainAll/removeIf) is blocked as well, once frozen
+    @Override
+    public Iterator<Tag> iterator() {
+        Iterator<Tag> tagIterator = super.iterator();
+        
+        return new Iterator<Tag>() {
+            private Tag lastTag;
+            
+            public boolean hasNext() {
+                return tagIterator.hasNext();
+            }
+            
+            public Tag next() {
+                this.lastTag = tagIterator.next();
+                return this.lastTag;
+            }
+            
+            public void remove() {
+                CheckNotFrozen();
+                tagIterator.remove();
+                tagsByName.remove(this.lastTag.GetName(), this.lastTag);
+            }
+        };
+    }
+    
+    // Stops the set from being changed
+    public void Freeze() {
+        this.frozen = true;
+    }
+    
+    // Helper method for blocking changes to a frozen set
+    private void CheckNotFrozen() {
+        if (this.frozen)
+            throw new UnsupportedOperationException("Tags of loaded definitions can't be changed (they are shared between workers)");
+    }
+    
+    // Returns a tag by its name (null if there is no such tag)
+    // (String) name: the name of the tag to get
+    public Tag GetByName(String name) {
+        return this.tagsByName.get(name);
+    }
+}
@@ -3,6 +3,8 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 public class WETag implements Tag
 {
+   private static final long serialVersionUID = 1L;
+   
    private String name;
    private String xpath;
    private String id;